@@ -0,0 +1,72 @@
+package com.andreashefti.functional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** Compares a chain of eight composed functions as nested lambdas, as Pipeline and as compiled Pipeline
+ *  (held in a static final and in an instance field) with the hand-written expression.
+ *  The stages are of different classes so the call sites within the nested lambdas and the Pipeline
+ *  loop are megamorphic like in real request handlers.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CompositionBenchmark {
+
+    private static final Function<Integer, Integer> S1 = i -> i + 1;
+    private static final Function<Integer, Integer> S2 = i -> i * 3;
+    private static final Function<Integer, Integer> S3 = i -> i - 7;
+    private static final Function<Integer, Integer> S4 = i -> i ^ 0x55;
+    private static final Function<Integer, Integer> S5 = i -> i >> 1;
+    private static final Function<Integer, Integer> S6 = i -> i + 11;
+    private static final Function<Integer, Integer> S7 = i -> i * 5;
+    private static final Function<Integer, Integer> S8 = i -> i & 0xFFFF;
+
+    private static final Function<Integer, Integer> NESTED =
+        x -> S8.apply( S7.apply( S6.apply( S5.apply( S4.apply( S3.apply( S2.apply( S1.apply( x ) ) ) ) ) ) ) );
+    private static final Pipeline<Integer, Integer> PIPELINE =
+        Pipeline.of( S1 ).then( S2 ).then( S3 ).then( S4 ).then( S5 ).then( S6 ).then( S7 ).then( S8 );
+    private static final Function<Integer, Integer> COMPILED = PIPELINE.compile();
+
+    private final Function<Integer, Integer> compiledInstance = PIPELINE.compile();
+
+    public int value = 42;
+
+    @Benchmark
+    public Integer nestedLambdas() {
+        return NESTED.apply( value );
+    }
+
+    @Benchmark
+    public Integer pipeline() {
+        return PIPELINE.apply( value );
+    }
+
+    @Benchmark
+    public Integer compiledStatic() {
+        return COMPILED.apply( value );
+    }
+
+    @Benchmark
+    public Integer compiledInstance() {
+        return compiledInstance.apply( value );
+    }
+
+    @Benchmark
+    public Integer handWritten() {
+        return ( ( ( ( ( ( value + 1 ) * 3 - 7 ) ^ 0x55 ) >> 1 ) + 11 ) * 5 ) & 0xFFFF;
+    }
+}
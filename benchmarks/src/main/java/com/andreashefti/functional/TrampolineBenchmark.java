@@ -0,0 +1,74 @@
+package com.andreashefti.functional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** Measures the cost of a Trampoline bounce.
+ *  invokeLoop uses Trampoline.invoke, invokeStream evaluates the same Trampoline with the former
+ *  Stream.iterate based implementation and tailCall uses TailCall.eval for comparison.
+ *  flatMapRecursion measures a none tail recursion that keeps its continuations on the heap.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class TrampolineBenchmark {
+
+    @Param( { "1", "100", "10000" } )
+    public int bounces;
+
+    @Benchmark
+    public Integer invokeLoop() {
+        return countDown( bounces, 0 ).invoke();
+    }
+
+    @Benchmark
+    public Integer invokeStream() {
+        return Stream.iterate( countDown( bounces, 0 ), Trampoline::get )
+                   .filter( Trampoline::isComplete )
+                   .findFirst()
+                   .get()
+                   .result();
+    }
+
+    @Benchmark
+    public Integer tailCall() {
+        return countDownTailCall( bounces, 0 ).eval();
+    }
+
+    @Benchmark
+    public Integer flatMapRecursion() {
+        return countUp( bounces ).invoke();
+    }
+
+    private static Trampoline<Integer> countDown( int n, int acc ) {
+        return n == 0 ?
+                   Trampoline.done( acc ) :
+                   Trampoline.call( () -> countDown( n - 1, acc + 1 ) );
+    }
+
+    private static Trampoline<Integer> countUp( int n ) {
+        return n == 0 ?
+                   Trampoline.done( 0 ) :
+                   Trampoline.call( () -> countUp( n - 1 ) ).map( c -> c + 1 );
+    }
+
+    private static TailCall<Integer> countDownTailCall( int n, int acc ) {
+        return n == 0 ?
+                   TailCall.ret( acc ) :
+                   TailCall.sus( () -> countDownTailCall( n - 1, acc + 1 ) );
+    }
+}
@@ -0,0 +1,26 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Runs the FCollections benchmarks with the GC profiler to report throughput together with gc.alloc.rate.norm
+ *  (the allocated bytes per operation). Additional JMH command line options can be given as arguments.
+ */
+public class BenchmarkRunner {
+
+    public static void main( String[] args ) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions( args );
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent( commandLineOptions )
+            .addProfiler( GCProfiler.class );
+        if ( commandLineOptions.getIncludes().isEmpty() ) {
+            options.include( BenchmarkRunner.class.getPackage().getName() + ".*" );
+        }
+        new Runner( options.build() ).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** Compares collecting a stream with Collectors.toList() and a copy to collecting with FCollectors */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CollectorBenchmark {
+
+    @Benchmark
+    public List<Integer> toListAndCopy( ListInput input ) {
+        return FCollections.list( input.list.stream().collect( Collectors.toList() ) );
+    }
+
+    @Benchmark
+    public List<Integer> toList( ListInput input ) {
+        return input.list.stream().collect( FCollectors.toList() );
+    }
+
+    @Benchmark
+    public FVector<Integer> toListAndFVector( ListInput input ) {
+        return FVector.from( input.list.stream().collect( Collectors.toList() ) );
+    }
+
+    @Benchmark
+    public FVector<Integer> toFVector( ListInput input ) {
+        return input.list.stream().collect( FCollectors.toFVector() );
+    }
+
+    @Benchmark
+    public FList<Integer> toFList( ListInput input ) {
+        return input.list.stream().collect( FCollectors.toFList() );
+    }
+}
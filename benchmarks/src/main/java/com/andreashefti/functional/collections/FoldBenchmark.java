@@ -0,0 +1,88 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Ops.Op2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** Compares the left- and right-fold implementations of FCollections and the unboxed fold of IntList */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FoldBenchmark {
+
+    private static final Function<Long, Function<Integer, Long>> LEFT = x -> y -> x + y;
+    private static final Function<Integer, Function<Long, Long>> RIGHT = x -> y -> x + y;
+    private static final Op2<Long, Integer, Long> LEFT_UNCURRIED = Op2.of( ( x, y ) -> x + y );
+    // folds in int like IntList.foldLeft, so both wrap around on overflow and give the same result
+    private static final Function<Integer, Function<Integer, Integer>> LEFT_INT = x -> y -> x + y;
+
+    @Benchmark
+    public Long leftFold( ListInput input ) {
+        return FCollections.leftFold( input.list, 0L, LEFT );
+    }
+
+    @Benchmark
+    public Long foldLeftImperative( ListInput input ) {
+        return FCollections.foldLeftImperative( input.list, 0L, LEFT );
+    }
+
+    @Benchmark
+    public Long foldLeftImperativeUncurried( ListInput input ) {
+        return FCollections.foldLeftImperative( input.list, 0L, LEFT_UNCURRIED );
+    }
+
+    @Benchmark
+    public Long foldLeftRecursiveStackSave( SmallListInput input ) {
+        return FCollections.foldLeftRecursiveStackSave_( input.list, 0L, LEFT ).invoke();
+    }
+
+    @Benchmark
+    public Long leftFoldFList( ListInput input ) {
+        return FCollections.leftFold( input.fList, 0L, LEFT );
+    }
+
+    @Benchmark
+    public Long foldLeftRecursiveStackSaveFList( ListInput input ) {
+        return FCollections.foldLeftRecursiveStackSave_( input.fList, 0L, LEFT ).invoke();
+    }
+
+    @Benchmark
+    public Integer foldLeftImperativeInt( ListInput input ) {
+        return FCollections.foldLeftImperative( input.list, 0, LEFT_INT );
+    }
+
+    @Benchmark
+    public int foldLeftIntList( ListInput input ) {
+        return input.intList.foldLeft( 0, ( x, y ) -> x + y );
+    }
+
+    @Benchmark
+    public Long foldRightImperative( ListInput input ) {
+        return FCollections.foldRightImperative( input.list, 0L, RIGHT );
+    }
+
+    @Benchmark
+    public Long foldRightRecursiveTailCall( ListInput input ) {
+        return FCollections.foldRightRecursiveTailCall( input.list, 0L, RIGHT );
+    }
+
+    @Benchmark
+    public Long foldRightFList( ListInput input ) {
+        return FCollections.foldRight( input.fList, 0L, RIGHT );
+    }
+
+    @Benchmark
+    public Long foldRightRecursiveStackSaveFList( ListInput input ) {
+        return FCollections.foldRightRecursiveStackSave_( input.fList, 0L, RIGHT ).invoke();
+    }
+}
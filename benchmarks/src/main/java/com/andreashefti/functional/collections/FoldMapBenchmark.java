@@ -0,0 +1,40 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Monoid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** Compares the sequential left fold with foldMap and the ForkJoin based foldMapParallel of a Monoid */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FoldMapBenchmark {
+
+    private static final Function<Long, Function<Integer, Long>> LEFT = x -> y -> x + y;
+    private static final Monoid<Long> SUM = Monoid.longSum();
+
+    @Benchmark
+    public Long foldLeftImperative( ListInput input ) {
+        return FCollections.foldLeftImperative( input.list, 0L, LEFT );
+    }
+
+    @Benchmark
+    public Long foldMap( ListInput input ) {
+        return FCollections.foldMap( input.list, SUM, Integer::longValue );
+    }
+
+    @Benchmark
+    public Long foldMapParallel( ListInput input ) {
+        return FCollections.foldMapParallel( input.list, SUM, Integer::longValue );
+    }
+}
@@ -0,0 +1,52 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Transducer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Compares a five stage transformation with a list for each stage to the same stages fused in a FView
+ *  and in a Transducer */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FusionBenchmark {
+
+    private static final Transducer<Integer, Long> XFORM = Transducer.<Integer, Integer>map( i -> i + 1 )
+        .then( Transducer.map( i -> i * 3 ) )
+        .then( Transducer.map( i -> i ^ 0x55 ) )
+        .then( Transducer.map( Integer::longValue ) );
+
+    @Benchmark
+    public Long listPerStage( ListInput input ) {
+        List<Integer> l1 = FCollections.map( input.list, i -> i + 1 );
+        List<Integer> l2 = FCollections.map( l1, i -> i * 3 );
+        List<Integer> l3 = FCollections.map( l2, i -> i ^ 0x55 );
+        List<Long> l4 = FCollections.map( l3, Integer::longValue );
+        return FCollections.leftFold( l4, 0L, sum -> l -> sum + l );
+    }
+
+    @Benchmark
+    public Long fused( ListInput input ) {
+        return FCollections.view( input.list )
+                   .map( i -> i + 1 )
+                   .map( i -> i * 3 )
+                   .map( i -> i ^ 0x55 )
+                   .map( Integer::longValue )
+                   .foldLeft( 0L, sum -> l -> sum + l );
+    }
+
+    @Benchmark
+    public Long transducer( ListInput input ) {
+        return FCollections.transduce( input.list, XFORM, 0L, sum -> l -> sum + l );
+    }
+}
@@ -0,0 +1,27 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/** The input lists for the benchmarks of linear (or better) implementations */
+@State( Scope.Benchmark )
+public class ListInput {
+
+    @Param( { "10", "1000", "100000", "1000000" } )
+    public int size;
+
+    public List<Integer> list;
+    public FList<Integer> fList;
+    public IntList intList;
+
+    @Setup
+    public void setup() {
+        list = FCollections.range( 0, size );
+        fList = FList.from( list );
+        intList = IntList.range( 0, size );
+    }
+}
@@ -0,0 +1,54 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/** Compares the map implementations of FCollections */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MapBenchmark {
+
+    private static final Function<Integer, Integer> F = x -> x + 1;
+
+    @Benchmark
+    public List<Integer> mapImperative( ListInput input ) {
+        return FCollections.mapImperative( input.list, F );
+    }
+
+    @Benchmark
+    public List<Integer> mapFoldLeft( ListInput input ) {
+        return FCollections.mapFoldLeft( input.list, F );
+    }
+
+    @Benchmark
+    public List<Integer> mapFoldRight( SmallListInput input ) {
+        return FCollections.mapFoldRight( input.list, F );
+    }
+
+    @Benchmark
+    public FList<Integer> mapFList( ListInput input ) {
+        return FCollections.map( input.fList, F );
+    }
+
+    @Benchmark
+    public FList<Integer> mapFoldLeftFList( ListInput input ) {
+        return FCollections.mapFoldLeft( input.fList, F );
+    }
+
+    @Benchmark
+    public FList<Integer> mapFoldRightFList( ListInput input ) {
+        return FCollections.mapFoldRight( input.fList, F );
+    }
+}
@@ -0,0 +1,41 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the prepend and append implementations of FCollections for a single element */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class PrependBenchmark {
+
+    @Benchmark
+    public List<Integer> prependImperative( ListInput input ) {
+        return FCollections.prependImperative( input.list, -1 );
+    }
+
+    @Benchmark
+    public List<Integer> prependFoldLeft( SmallListInput input ) {
+        return FCollections.prependFoldLeft( input.list, -1 );
+    }
+
+    @Benchmark
+    public List<Integer> append( ListInput input ) {
+        return FCollections.append( input.list, -1 );
+    }
+
+    @Benchmark
+    public FList<Integer> prependFList( ListInput input ) {
+        return FCollections.prepend( input.fList, -1 );
+    }
+}
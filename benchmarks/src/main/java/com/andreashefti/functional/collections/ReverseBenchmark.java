@@ -0,0 +1,46 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Compares the reverse implementations of FCollections */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ReverseBenchmark {
+
+    @Benchmark
+    public List<Integer> reverseImperative( ListInput input ) {
+        return FCollections.reverseImperative( input.list );
+    }
+
+    @Benchmark
+    public List<Integer> reversePrepend( SmallListInput input ) {
+        return FCollections.reversePrepend( input.list );
+    }
+
+    @Benchmark
+    public List<Integer> reverseFoldLeft( SmallListInput input ) {
+        return FCollections.reverseFoldLeft( input.list );
+    }
+
+    @Benchmark
+    public FList<Integer> reverseFList( ListInput input ) {
+        return FCollections.reverse( input.fList );
+    }
+
+    @Benchmark
+    public FList<Integer> reversePrependFList( ListInput input ) {
+        return FCollections.reversePrepend( input.fList );
+    }
+}
@@ -0,0 +1,25 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/** The input lists for the benchmarks of implementations that copy the list on every step and therefore
+ *  are quadratic (or worse). They are measured up to 10000 elements only.
+ */
+@State( Scope.Benchmark )
+public class SmallListInput {
+
+    @Param( { "10", "100", "1000", "10000" } )
+    public int smallSize;
+
+    public List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = FCollections.range( 0, smallSize );
+    }
+}
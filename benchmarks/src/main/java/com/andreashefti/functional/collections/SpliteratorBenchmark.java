@@ -0,0 +1,104 @@
+package com.andreashefti.functional.collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** Compares parallel streams over an ArrayList with parallel streams over FList, FVector and Tree within
+ *  ForkJoinPools of 1, 4 and 16 threads. The speedup is limited by the available cores of the machine.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SpliteratorBenchmark {
+
+    @State( Scope.Benchmark )
+    public static class Input {
+
+        @Param( { "100000", "1000000" } )
+        public int size;
+
+        @Param( { "1", "4", "16" } )
+        public int parallelism;
+
+        ForkJoinPool pool;
+        List<Integer> list;
+        FList<Integer> fList;
+        FVector<Integer> fVector;
+        Tree<Integer> tree;
+
+        @Setup( Level.Trial )
+        public void setup() {
+            pool = new ForkJoinPool( parallelism );
+            list = FCollections.range( 0, size );
+            fList = FList.from( list );
+            fVector = FVector.from( list );
+            tree = tree( size, 8 );
+        }
+
+        @TearDown( Level.Trial )
+        public void tearDown() {
+            pool.shutdown();
+        }
+
+        /* A tree of the given size where each node has up to fanOut children, filled in breadth first order */
+        private static Tree<Integer> tree( int size, int fanOut ) {
+            Tree<Integer> tree = new Tree<>( 0 );
+            Deque<Tree.Node<Integer>> queue = new ArrayDeque<>();
+            queue.add( tree.root() );
+            int value = 1;
+            while ( value < size ) {
+                Tree.Node<Integer> node = queue.poll();
+                for ( int i = 0; i < fanOut && value < size; i++ ) {
+                    queue.add( node.addChild( value++ ) );
+                }
+            }
+            return tree;
+        }
+    }
+
+    @Benchmark
+    public long arrayList( Input input ) throws ExecutionException, InterruptedException {
+        return sum( input.pool, input.list.parallelStream() );
+    }
+
+    @Benchmark
+    public long fList( Input input ) throws ExecutionException, InterruptedException {
+        return sum( input.pool, input.fList.parallelStream() );
+    }
+
+    @Benchmark
+    public long fVector( Input input ) throws ExecutionException, InterruptedException {
+        return sum( input.pool, input.fVector.parallelStream() );
+    }
+
+    @Benchmark
+    public long tree( Input input ) throws ExecutionException, InterruptedException {
+        return sum( input.pool, input.tree.parallelStream() );
+    }
+
+    /* A parallel stream runs within the ForkJoinPool of the thread that starts the terminal operation */
+    private static long sum( ForkJoinPool pool, Stream<Integer> stream ) throws ExecutionException, InterruptedException {
+        return pool.submit( () -> stream.mapToLong( i -> i * 31L % 7 ).sum() ).get();
+    }
+}
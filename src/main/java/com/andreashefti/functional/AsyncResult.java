@@ -0,0 +1,223 @@
+package com.andreashefti.functional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** A Result that is computed asynchronously.
+ *
+ *  An AsyncResult wraps a CompletableFuture of a Result and an Executor. map, flatMap and recover never block,
+ *  they register the next step that runs on the Executor of the AsyncResult as soon as the Result is available.
+ *  The wrapped future always completes normally, an exception that is thrown by a step, by the future given to
+ *  from or by an Executor that rejects a step is turned into a Failure and a null Result into Empty.
+ *
+ *  <pre>
+ *      AsyncResult<User> user = AsyncResult.of( () -> userService.find( id ), ioExecutor );
+ *      AsyncResult<String> greeting = user
+ *          .flatMap( u -> AsyncResult.of( () -> profileService.find( u ), ioExecutor ) )
+ *          .map( profile -> "Hello " + profile.getName() )
+ *          .recover( e -> Result.success( "Hello" ) );
+ *
+ *      Result<String> result = greeting.toResult();   // blocks only here
+ *  </pre>
+ *
+ * @param <T> The type of the value of the Result
+ */
+public final class AsyncResult<T> {
+
+    private final CompletableFuture<Result<T>> future;
+    private final Executor executor;
+
+    private AsyncResult( CompletableFuture<Result<T>> future, Executor executor ) {
+        this.future = future;
+        this.executor = executor;
+    }
+
+    /** Use this to map the value of the Result with the given function as soon as it is available.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a new AsyncResult of the mapped Result
+     */
+    public <U> AsyncResult<U> map( final Function<T, U> f ) {
+        return new AsyncResult<>( normally( future.thenApplyAsync( r -> r.map( f ), executor ) ), executor );
+    }
+
+    /** Use this to continue with another asynchronous computation as soon as the value of the Result is available.
+     *  Empty and Failure are passed on without calling the function.
+     *
+     * @param f The function that gives the next AsyncResult for the value
+     * @param <U> The target type
+     * @return a new AsyncResult that completes with the Result of the AsyncResult given by f
+     */
+    @SuppressWarnings( "unchecked" )
+    public <U> AsyncResult<U> flatMap( final Function<T, AsyncResult<U>> f ) {
+        return new AsyncResult<>( normally( future.thenComposeAsync( r -> {
+            if ( !r.isPresent() ) {
+                return CompletableFuture.completedFuture( (Result<U>) r );
+            }
+            try {
+                return f.apply( r.get() ).future;
+            } catch ( RuntimeException e ) {
+                return CompletableFuture.completedFuture( Result.failure( e ) );
+            }
+        }, executor ) ), executor );
+    }
+
+    /** Use this to replace a Failure with the Result of the given function. Success and Empty are passed on.
+     *
+     * @param f The function that gives a Result for the exception of a Failure
+     * @return a new AsyncResult with the recovered Result
+     */
+    public AsyncResult<T> recover( final Function<RuntimeException, Result<T>> f ) {
+        return new AsyncResult<>( normally( future.thenApplyAsync( r -> {
+            RuntimeException exception = r.failureException();
+            if ( exception == null ) {
+                return r;
+            }
+            try {
+                return f.apply( exception );
+            } catch ( RuntimeException e ) {
+                return Result.failure( e );
+            }
+        }, executor ) ), executor );
+    }
+
+    /** Use this to apply the given effect to the Result as soon as it is available.
+     *
+     * @param effect The effect to apply to the Result
+     */
+    public void onComplete( final Effect<Result<T>> effect ) {
+        future.thenAcceptAsync( effect::apply, executor );
+    }
+
+    /** Use this to get an AsyncResult that runs the following steps on the given Executor.
+     *
+     * @param executor The Executor for the following steps
+     * @return an AsyncResult of the same Result that runs the following steps on the given Executor
+     */
+    public AsyncResult<T> withExecutor( final Executor executor ) {
+        return new AsyncResult<>( future, executor );
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /** Use this to wait for the Result. This blocks the calling thread until the Result is available.
+     *
+     * @return the Result
+     */
+    public Result<T> toResult() {
+        return future.join();
+    }
+
+    /** Use this to wait at most the given time for the Result.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return the Result or a Failure if the Result is not available within the given time or the thread is interrupted
+     */
+    public Result<T> toResult( final long timeout, final TimeUnit unit ) {
+        try {
+            return future.get( timeout, unit );
+        } catch ( TimeoutException e ) {
+            return Result.failure( new IllegalStateException( "no Result within " + timeout + " " + unit, e ) );
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            return Result.failure( e );
+        } catch ( ExecutionException e ) {
+            return Result.failure( unwrap( e ) );
+        }
+    }
+
+    /** Use this to get the wrapped CompletableFuture. It always completes normally with a Result.
+     *
+     * @return the wrapped CompletableFuture
+     */
+    public CompletableFuture<Result<T>> toCompletableFuture() {
+        return future;
+    }
+
+    /* ends a stage, so the future completes normally also if a step or the Executor failed */
+    private static <T> CompletableFuture<Result<T>> normally( CompletableFuture<Result<T>> future ) {
+        return future.handle( ( result, e ) ->
+            e != null ?
+                Result.<T>failure( unwrap( e ) ) :
+                result == null ?
+                    Result.<T>empty() :
+                    result
+        );
+    }
+
+    private static RuntimeException unwrap( Throwable e ) {
+        Throwable cause = ( e instanceof CompletionException || e instanceof ExecutionException ) && e.getCause() != null ?
+                              e.getCause() :
+                              e;
+        return cause instanceof RuntimeException ?
+                   (RuntimeException) cause :
+                   new IllegalStateException( cause.getMessage(), cause );
+    }
+
+
+    /** Use this to compute a Result asynchronously on the given Executor.
+     *
+     * @param supplier The computation of the Result, a null Result is turned into Empty
+     * @param executor The Executor to run the computation and the following steps
+     * @param <T> The type of the value of the Result
+     * @return an AsyncResult of the computed Result
+     */
+    public static <T> AsyncResult<T> of( final Supplier<Result<T>> supplier, final Executor executor ) {
+        return new AsyncResult<>( normally( CompletableFuture.supplyAsync( supplier, executor ) ), executor );
+    }
+
+    /** Use this to compute a Result asynchronously within the common ForkJoinPool.
+     *  For blocking computations, like remote calls, use of( supplier, executor ) with an Executor for blocking tasks.
+     *
+     * @param supplier The computation of the Result
+     * @param <T> The type of the value of the Result
+     * @return an AsyncResult of the computed Result
+     */
+    public static <T> AsyncResult<T> of( final Supplier<Result<T>> supplier ) {
+        return of( supplier, ForkJoinPool.commonPool() );
+    }
+
+    /** Use this to get an already completed AsyncResult with the given Result.
+     *
+     * @param result The Result
+     * @param executor The Executor to run the following steps
+     * @param <T> The type of the value of the Result
+     * @return a completed AsyncResult
+     */
+    public static <T> AsyncResult<T> completed( final Result<T> result, final Executor executor ) {
+        return new AsyncResult<>( CompletableFuture.completedFuture( result ), executor );
+    }
+
+    public static <T> AsyncResult<T> completed( final Result<T> result ) {
+        return completed( result, ForkJoinPool.commonPool() );
+    }
+
+    /** Use this to get an AsyncResult from a CompletableFuture. The AsyncResult completes with a Success with the
+     *  value of the future (or Empty if the value is null) and with a Failure if the future completes exceptionally.
+     *
+     * @param future The future
+     * @param executor The Executor to run the following steps
+     * @param <T> The type of the value of the future
+     * @return an AsyncResult of the future
+     */
+    public static <T> AsyncResult<T> from( final CompletableFuture<T> future, final Executor executor ) {
+        return new AsyncResult<>( future.handle( ( value, e ) ->
+            e != null ?
+                Result.<T>failure( unwrap( e ) ) :
+                value == null ?
+                    Result.<T>empty() :
+                    Result.success( value )
+        ), executor );
+    }
+}
@@ -0,0 +1,271 @@
+package com.andreashefti.functional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** An Effect that buffers the elements and applies a sink effect to batches of them.
+ *
+ *  Writing elements one by one to an I/O sink, like a log file or a database, costs one call to the sink per element.
+ *  A BatchingEffect collects the elements in a bounded buffer and a flusher thread applies the sink to a batch as
+ *  soon as batchSize elements are collected or maxDelay has passed since the first element of the batch arrived.
+ *  If the buffer is full, apply blocks until the flusher made room again, so a slow sink slows down the producers
+ *  instead of filling the memory. close flushes all buffered elements and stops the flusher:
+ *
+ *  <pre>
+ *      try ( BatchingEffect<String> log = BatchingEffect.of( lines -> writer.write( lines ), 1000, 50, TimeUnit.MILLISECONDS ) ) {
+ *          events.forEach( e -> log.apply( e.toString() ) );
+ *      }
+ *  </pre>
+ *
+ *  The sink is always applied on the flusher thread, one batch at a time and in the order of the elements.
+ *  Anything the sink throws is given to the error handler (an Error or a checked exception wrapped in an
+ *  IllegalStateException) and the batch is dropped, the flusher keeps running. Without an error handler the first
+ *  failure of the sink is thrown by close, so a failing sink is never silently ignored.
+ *
+ *  An idle flusher waits for the next element without waking up, it only uses a timeout while a batch is open.
+ *
+ * @param <T> The type of the elements
+ */
+public final class BatchingEffect<T> implements Effect<T>, AutoCloseable {
+
+    // wakes up a waiting flusher after close
+    private static final Object CLOSE = new Object();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Effect<List<T>> sink;
+    // null if the first failure is thrown by close
+    private final Effect<RuntimeException> errorHandler;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Object> buffer;
+    // held by each producer while it adds an element, so the flusher knows when no more elements can arrive
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread flusher;
+    private final AtomicBoolean closed = new AtomicBoolean( false );
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+
+    private BatchingEffect(
+        Effect<List<T>> sink,
+        Effect<RuntimeException> errorHandler,
+        int batchSize,
+        long maxDelayNanos,
+        int capacity
+    ) {
+        if ( batchSize < 1 || capacity < 1 ) {
+            throw new IllegalArgumentException( "batchSize and capacity must be positive: " + batchSize + ", " + capacity );
+        }
+        this.sink = sink;
+        this.errorHandler = errorHandler;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.buffer = new ArrayBlockingQueue<>( capacity );
+        this.flusher = new Thread( this::flushLoop, "batching-effect-" + THREAD_COUNT.incrementAndGet() );
+        this.flusher.setDaemon( true );
+        this.flusher.start();
+    }
+
+    /** Use this to add an element to the buffer. This blocks while the buffer is full.
+     *
+     * @param t The element
+     * @throws IllegalStateException if this BatchingEffect is closed, its flusher thread stopped or the thread is
+     *         interrupted while waiting
+     */
+    @Override
+    public void apply( T t ) {
+        closeLock.readLock().lock();
+        try {
+            if ( closed.get() ) {
+                throw new IllegalStateException( "BatchingEffect is closed" );
+            }
+            if ( !flusher.isAlive() ) {
+                throw new IllegalStateException( "the flusher thread of the BatchingEffect stopped" );
+            }
+            buffer.put( t );
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "interrupted while waiting for buffer space", e );
+        } finally {
+            closeLock.readLock().unlock();
+            // the flusher may wait for this producer to release the read lock, see flushLoop
+            if ( closed.get() ) {
+                buffer.offer( CLOSE );
+            }
+        }
+    }
+
+    /** Use this to flush all buffered elements to the sink and to stop the flusher thread.
+     *  This waits until the last batch is applied and throws the first failure of the sink if this BatchingEffect
+     *  has no error handler. If it is called by the sink itself, it returns at once and the flusher stops after the
+     *  buffered elements are flushed. Calling close again only waits for the flusher.
+     *
+     * @throws RuntimeException the first failure of the sink if this BatchingEffect has no error handler
+     */
+    @Override
+    public void close() {
+        if ( !closed.getAndSet( true ) ) {
+            // wakes up a waiting flusher. If the buffer is full, the flusher is busy and sees closed later
+            buffer.offer( CLOSE );
+        }
+        if ( Thread.currentThread() == flusher ) {
+            return;
+        }
+
+        boolean interrupted = false;
+        while ( true ) {
+            try {
+                flusher.join();
+                break;
+            } catch ( InterruptedException e ) {
+                interrupted = true;
+            }
+        }
+        if ( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+
+        RuntimeException failure = firstFailure.getAndSet( null );
+        if ( failure != null ) {
+            throw failure;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /** Use this to get the number of batches that were given to the sink, including the failed ones.
+     *
+     * @return the number of batches that were given to the sink
+     */
+    public long batchCount() {
+        return batchCount.get();
+    }
+
+    /** Use this to get the number of batches for which the sink failed.
+     *
+     * @return the number of batches for which the sink failed
+     */
+    public long failureCount() {
+        return failureCount.get();
+    }
+
+    /* Runs until this is closed and the buffer is empty. If closed is set and the flusher gets the write lock, no
+     * producer is adding an element and no producer will add one anymore. If it does not get the lock, a producer
+     * still holds the read lock and offers CLOSE after it released it, so take never waits forever. */
+    @SuppressWarnings( "unchecked" )
+    private void flushLoop() {
+        List<T> batch = new ArrayList<>( batchSize );
+        while ( true ) {
+            if ( closed.get() && closeLock.writeLock().tryLock() ) {
+                try {
+                    if ( buffer.isEmpty() ) {
+                        return;
+                    }
+                } finally {
+                    closeLock.writeLock().unlock();
+                }
+            }
+            try {
+                Object first = buffer.take();
+                if ( first == CLOSE ) {
+                    continue;
+                }
+                batch.add( (T) first );
+
+                // once closed, the batch takes only what is buffered. close does not wake up the flusher if the
+                // buffer is full, but then this poll does not wait
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while ( batch.size() < batchSize ) {
+                    long remaining = deadline - System.nanoTime();
+                    Object next = remaining > 0 && !closed.get() ?
+                                      buffer.poll( remaining, TimeUnit.NANOSECONDS ) :
+                                      buffer.poll();
+                    if ( next == null || next == CLOSE ) {
+                        break;
+                    }
+                    batch.add( (T) next );
+                }
+            } catch ( InterruptedException e ) {
+                // the flusher is only stopped by close
+            }
+            flush( batch );
+            batch = new ArrayList<>( batchSize );
+        }
+    }
+
+    /* Nothing that is thrown by the sink or the error handler stops the flusher, otherwise apply and close would
+     * wait for it forever */
+    private void flush( final List<T> batch ) {
+        if ( batch.isEmpty() ) {
+            return;
+        }
+        batchCount.incrementAndGet();
+        try {
+            sink.apply( Collections.unmodifiableList( batch ) );
+        } catch ( Throwable e ) {
+            failureCount.incrementAndGet();
+            RuntimeException failure = e instanceof RuntimeException ?
+                                           (RuntimeException) e :
+                                           new IllegalStateException( "sink failed", e );
+            if ( errorHandler == null ) {
+                firstFailure.compareAndSet( null, failure );
+                return;
+            }
+            try {
+                errorHandler.apply( failure );
+            } catch ( Throwable ignored ) {
+                // an error handler must not stop the flusher
+            }
+        }
+    }
+
+
+    /** Use this to create a BatchingEffect that buffers up to four batches. The batches for which the sink fails
+     *  are dropped and the first failure is thrown by close.
+     *
+     * @param sink The effect that is applied to each batch
+     * @param batchSize The maximum number of elements of a batch
+     * @param maxDelay The maximum time an element waits in the buffer for its batch to be complete
+     * @param unit The unit of maxDelay
+     * @param <T> The type of the elements
+     * @return a new BatchingEffect with a running flusher thread
+     */
+    public static <T> BatchingEffect<T> of( final Effect<List<T>> sink, final int batchSize, final long maxDelay, final TimeUnit unit ) {
+        return new BatchingEffect<>( sink, null, batchSize, unit.toNanos( maxDelay ), batchSize * 4 );
+    }
+
+    /** Use this to create a BatchingEffect.
+     *
+     * @param sink The effect that is applied to each batch
+     * @param batchSize The maximum number of elements of a batch
+     * @param maxDelay The maximum time an element waits in the buffer for its batch to be complete
+     * @param unit The unit of maxDelay
+     * @param capacity The maximum number of buffered elements, apply blocks if the buffer is full
+     * @param errorHandler The effect that is applied to each exception of the sink, or null to throw the first
+     *                     exception of the sink by close
+     * @param <T> The type of the elements
+     * @return a new BatchingEffect with a running flusher thread
+     */
+    public static <T> BatchingEffect<T> of(
+        final Effect<List<T>> sink,
+        final int batchSize,
+        final long maxDelay,
+        final TimeUnit unit,
+        final int capacity,
+        final Effect<RuntimeException> errorHandler
+    ) {
+        return new BatchingEffect<>( sink, errorHandler, batchSize, unit.toNanos( maxDelay ), capacity );
+    }
+}
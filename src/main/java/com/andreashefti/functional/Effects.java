@@ -0,0 +1,188 @@
+package com.andreashefti.functional;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** Concurrent application of Effects.
+ *
+ *  Effects are mostly blocking, like writing to a remote system. Applying them one after another on the calling
+ *  thread limits the throughput to one effect at a time. applyConcurrently applies an effect to all elements
+ *  concurrently with at most maxConcurrency effects running at the same time:
+ *
+ *  <pre>
+ *      Result<List<Order>> sent = Effects.applyConcurrently( orders, orderService::send, 100, Completion.UNORDERED );
+ *  </pre>
+ *
+ *  On a JDK with virtual threads (Java 21 and later) each effect runs on its own virtual thread, a blocked effect
+ *  then does not block a platform thread. On older JDKs the effects run within a shared pool of FALLBACK_POOL_SIZE
+ *  daemon threads, so there are never more then FALLBACK_POOL_SIZE effects running, whatever the maxConcurrency is.
+ *  Since the pool is shared, an effect should not itself wait for other effects that are applied concurrently.
+ */
+public abstract class Effects {
+
+    /** The number of threads of the pool that is used if the JDK has no virtual threads */
+    public static final int FALLBACK_POOL_SIZE = 64;
+
+    /** Defines the order of the elements within the Success of applyConcurrently */
+    public enum Completion {
+        /** The elements are in the order of the given elements */
+        ORDERED,
+        /** The elements are in the order in which the effects on them completed */
+        UNORDERED
+    }
+
+    private static final boolean VIRTUAL_THREADS;
+    private static final ExecutorService EXECUTOR;
+    static {
+        ExecutorService executor;
+        boolean virtual;
+        try {
+            Method factory = Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+            executor = (ExecutorService) factory.invoke( null );
+            virtual = true;
+        } catch ( ReflectiveOperationException e ) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool( FALLBACK_POOL_SIZE, runnable -> {
+                Thread thread = new Thread( runnable, "effects-" + count.incrementAndGet() );
+                thread.setDaemon( true );
+                return thread;
+            } );
+            virtual = false;
+        }
+        EXECUTOR = executor;
+        VIRTUAL_THREADS = virtual;
+    }
+
+    /** Use this to check if the effects are applied on virtual threads.
+     *
+     * @return true if the effects are applied on virtual threads, false if they are applied within a thread pool
+     */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /** Use this to get an effect that applies the given effect concurrently to all elements of a list.
+     *  The returned effect waits until all effects are applied and throws the aggregated exception of applyConcurrently
+     *  if any of the effects failed.
+     *
+     * @param effect The effect to apply to each element
+     * @param maxConcurrency The maximum number of effects that are running at the same time
+     * @param <T> The type of the elements
+     * @return an effect that applies the given effect concurrently to all elements of a list
+     */
+    public static <T> Effect<List<T>> parallel( final Effect<T> effect, final int maxConcurrency ) {
+        return list -> applyConcurrently( list, effect, maxConcurrency, Completion.UNORDERED ).get();
+    }
+
+    /** Use this to apply an effect concurrently to each of the given elements and to wait until all are applied.
+     *
+     *  If all effects succeed, this gives a Success with the elements in the order given by completion. Otherwise
+     *  all effects are still applied and this gives a Failure with an IllegalStateException that has the exception
+     *  of each failed effect as suppressed exception, in the order of the elements. If the calling thread is
+     *  interrupted, no more effects are started and this gives a Failure after the started effects completed.
+     *
+     * @param elements The elements to apply the effect on
+     * @param effect The effect
+     * @param maxConcurrency The maximum number of effects that are running at the same time
+     * @param completion The order of the elements within the Success
+     * @param <T> The type of the elements
+     * @return a Success with the elements or a Failure with the exceptions of the failed effects
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> Result<List<T>> applyConcurrently(
+        final Iterable<T> elements,
+        final Effect<T> effect,
+        final int maxConcurrency,
+        final Completion completion
+    ) {
+        if ( maxConcurrency < 1 ) {
+            throw new IllegalArgumentException( "maxConcurrency must be positive: " + maxConcurrency );
+        }
+
+        List<T> list = new ArrayList<>();
+        elements.forEach( list::add );
+        int size = list.size();
+
+        Semaphore permits = new Semaphore( maxConcurrency );
+        CountDownLatch done = new CountDownLatch( size );
+        AtomicReferenceArray<Throwable> errors = new AtomicReferenceArray<>( size );
+        Object[] completed = new Object[ size ];
+        AtomicInteger completedCount = new AtomicInteger();
+
+        int started = 0;
+        try {
+            for ( ; started < size; started++ ) {
+                permits.acquire();
+                T t = list.get( started );
+                int index = started;
+                try {
+                    EXECUTOR.execute( () -> {
+                        try {
+                            effect.apply( t );
+                            completed[ completedCount.getAndIncrement() ] = t;
+                        } catch ( RuntimeException | Error e ) {
+                            errors.set( index, e );
+                        } finally {
+                            permits.release();
+                            done.countDown();
+                        }
+                    } );
+                } catch ( RejectedExecutionException e ) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        } catch ( InterruptedException e ) {
+            awaitStarted( done, size - started );
+            Thread.currentThread().interrupt();
+            return Result.failure( new IllegalStateException( "interrupted after " + started + " of " + size + " effects", e ) );
+        }
+
+        awaitStarted( done, 0 );
+
+        List<Throwable> failures = new ArrayList<>();
+        for ( int i = 0; i < size; i++ ) {
+            if ( errors.get( i ) != null ) {
+                failures.add( errors.get( i ) );
+            }
+        }
+        if ( !failures.isEmpty() ) {
+            IllegalStateException failure = new IllegalStateException( failures.size() + " of " + size + " effects failed" );
+            failures.forEach( failure::addSuppressed );
+            return Result.failure( failure );
+        }
+
+        return completion == Completion.ORDERED ?
+                   Result.success( Collections.unmodifiableList( list ) ) :
+                   Result.success( Collections.unmodifiableList( (List<T>) Arrays.asList( completed ) ) );
+    }
+
+    /* Waits until all started effects are done. notStarted is the number of effects that never will be started */
+    private static void awaitStarted( final CountDownLatch done, final int notStarted ) {
+        for ( int i = 0; i < notStarted; i++ ) {
+            done.countDown();
+        }
+        boolean interrupted = false;
+        while ( true ) {
+            try {
+                done.await();
+                break;
+            } catch ( InterruptedException e ) {
+                interrupted = true;
+            }
+        }
+        if ( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
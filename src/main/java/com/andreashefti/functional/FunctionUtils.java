@@ -3,10 +3,15 @@ package com.andreashefti.functional;
 import java.util.function.Function;
 
 
+/** Function composition.
+ *
+ *  All compositions are built as Pipeline, so composing already composed functions flattens them into one
+ *  array of stages instead of nesting them. The call depth of a composed function stays one, also for chains
+ *  of thousands of functions.
+ */
 public abstract class FunctionUtils {
 
 
-
     /** A higher order function to compose two functions implemented as a method
      *
      * @param f the first function
@@ -17,7 +22,7 @@ public abstract class FunctionUtils {
      * @return a new function that is the composition of f with g, that has the input type V and output type U
      */
     public static final <T, U, V> Function<V, U> compose( Function<T, U> f, Function <V, T> g ) {
-        return x -> f.apply( g.apply( x ) );
+        return Pipeline.of( g ).then( f );
     }
 
     /** A higher order function to compose two functions. This is implemented itself as a function an
@@ -48,25 +53,41 @@ public abstract class FunctionUtils {
     public static final <T, U, V> Function<Function<T, U>,
                                            Function<Function<U, V>,
                                                     Function<T, V>>> compose() {
-        return f -> g -> x -> g.apply( f.apply( x ) );  // f -> g -> g.compose( f );
+        return f -> g -> Pipeline.of( f ).then( g );  // f -> g -> g.compose( f );
     }
 
     public static final <T, U, V> Function<Function<U, V>,
                                            Function<Function<T, U>,
                                                     Function<T, V>>> higherCompose() {
-        return f -> g -> x -> f.apply( g.apply( x ) );
+        return f -> g -> Pipeline.of( g ).then( f );
     }
 
     public static final <T, U, V> Function<Function<T, U>,
                                            Function<Function<V, T>,
                                                     Function<V, U>>> andThen() {
-        return f -> g -> g.andThen( f );
+        return f -> g -> Pipeline.of( g ).then( f );
     }
 
     public static final <T, U, V> Function<Function<T, U>,
                                            Function<Function<U, V>,
                                                     Function<T, V>>> higherAndThen() {
-        return f -> g -> x -> g.apply( f.apply( x ) );
+        return f -> g -> Pipeline.of( f ).then( g );
+    }
+
+    /** Use this to compile a (composed) function into a MethodHandle chain. See Pipeline.compile
+     *
+     *  <pre>
+     *      private static final Function<Request, Response> HANDLER = FunctionUtils.compile(
+     *          FunctionUtils.compose( render, FunctionUtils.compose( handle, parse ) ) );
+     *  </pre>
+     *
+     * @param f the function to compile
+     * @param <T> the input type of the function
+     * @param <R> the output type of the function
+     * @return the compiled function
+     */
+    public static final <T, R> Function<T, R> compile( Function<T, R> f ) {
+        return Pipeline.of( f ).compile();
     }
 
 }
@@ -0,0 +1,141 @@
+package com.andreashefti.functional;
+
+import java.util.function.Function;
+
+/** Memoization of pure functions.
+ *
+ *  A memoized function caches its results within a MemoCache and computes the result for a given argument only
+ *  once (as long as it is not evicted from the cache). Functions of more then one argument are given as curried
+ *  Ops, memoized with memoize2 and memoize3, and are cached by a Tuple of its arguments, so partial application
+ *  still works:
+ *
+ *  <pre>
+ *      Op2<Integer, Integer, Integer> add = x -> y -> expensiveAdd( x, y );
+ *      Op2<Integer, Integer, Integer> memoizedAdd = Memo.memoize2( add );
+ *
+ *      memoizedAdd.apply( 1 ).apply( 2 );  // computes
+ *      memoizedAdd.apply( 1 ).apply( 2 );  // from cache
+ *  </pre>
+ *
+ *  Use the methods with a MemoCache argument to define the maximum size of the cache and to get access to its
+ *  hit and miss statistics.
+ *
+ *  Recursive functions are memoized with recursive. The function gets its memoized self as first argument
+ *  and returns a Trampoline, so also the recursive calls hit the cache and deep recursions are stack save:
+ *
+ *  <pre>
+ *      Function<Integer, BigInteger> fibonacci = Memo.recursive( self -> n ->
+ *          n < 2 ?
+ *              Trampoline.done( BigInteger.valueOf( n ) ) :
+ *              self.apply( n - 1 ).flatMap( a -> self.apply( n - 2 ).map( a::add ) )
+ *      );
+ *  </pre>
+ */
+public abstract class Memo {
+
+    /** The maximum size of the MemoCache that is used if no MemoCache is given */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    public static <T, R> Function<T, R> memoize( final Function<T, R> f ) {
+        return memoize( f, new MemoCache<>( DEFAULT_MAX_SIZE ) );
+    }
+
+    /** Use this to memoize a function of one argument within the given MemoCache.
+     *
+     * @param f The function to memoize
+     * @param cache The cache to store the results of the function
+     * @param <T> The argument type of the function
+     * @param <R> The result type of the function
+     * @return the memoized function
+     */
+    public static <T, R> Function<T, R> memoize( final Function<T, R> f, final MemoCache<T, R> cache ) {
+        return t -> cache.get( t, f );
+    }
+
+    public static <T, U, R> Ops.Op2<T, U, R> memoize2( final Ops.Op2<T, U, R> f ) {
+        return memoize2( f, new MemoCache<Tuple<T, U>, R>( DEFAULT_MAX_SIZE ) );
+    }
+
+    /** Use this to memoize a curried function of two arguments within the given MemoCache.
+     *  The results are cached by the Tuple of both arguments.
+     *
+     * @param f The function to memoize
+     * @param cache The cache to store the results of the function
+     * @param <T> The type of the first argument
+     * @param <U> The type of the second argument
+     * @param <R> The result type of the function
+     * @return the memoized function
+     */
+    public static <T, U, R> Ops.Op2<T, U, R> memoize2( final Ops.Op2<T, U, R> f, final MemoCache<Tuple<T, U>, R> cache ) {
+        Function<Tuple<T, U>, R> uncurried = args -> f.apply( args.left ).apply( args.right );
+        return t -> u -> cache.get( new Tuple<>( t, u ), uncurried );
+    }
+
+    public static <T, U, V, R> Ops.Op3<T, U, V, R> memoize3( final Ops.Op3<T, U, V, R> f ) {
+        return memoize3( f, new MemoCache<Tuple<Tuple<T, U>, V>, R>( DEFAULT_MAX_SIZE ) );
+    }
+
+    /** Use this to memoize a curried function of three arguments within the given MemoCache.
+     *  The results are cached by a Tuple of the first two arguments (as Tuple) and the third argument.
+     *
+     * @param f The function to memoize
+     * @param cache The cache to store the results of the function
+     * @param <T> The type of the first argument
+     * @param <U> The type of the second argument
+     * @param <V> The type of the third argument
+     * @param <R> The result type of the function
+     * @return the memoized function
+     */
+    public static <T, U, V, R> Ops.Op3<T, U, V, R> memoize3( final Ops.Op3<T, U, V, R> f, final MemoCache<Tuple<Tuple<T, U>, V>, R> cache ) {
+        Function<Tuple<Tuple<T, U>, V>, R> uncurried = args -> f.apply( args.left.left ).apply( args.left.right ).apply( args.right );
+        return t -> u -> v -> cache.get( new Tuple<>( new Tuple<>( t, u ), v ), uncurried );
+    }
+
+    public static <T, R> Function<T, R> recursive( final Function<Function<T, Trampoline<R>>, Function<T, Trampoline<R>>> f ) {
+        return recursive( f, new MemoCache<>( DEFAULT_MAX_SIZE ) );
+    }
+
+    /** Use this to memoize a recursive function within the given MemoCache.
+     *
+     *  The given function gets the memoized function itself as argument and gives back the function body.
+     *  Recursive calls go through the memoized function that gives a completed Trampoline for a cached argument
+     *  and a suspended Trampoline that computes and caches the result otherwise. The whole recursion is evaluated
+     *  by Trampoline.invoke and keeps its pending continuations on the heap instead of the call stack.
+     *
+     * @param f The function that gives the function body for the memoized function itself
+     * @param cache The cache to store the results of the function
+     * @param <T> The argument type of the function
+     * @param <R> The result type of the function
+     * @return the memoized function
+     */
+    public static <T, R> Function<T, R> recursive(
+        final Function<Function<T, Trampoline<R>>, Function<T, Trampoline<R>>> f,
+        final MemoCache<T, R> cache
+    ) {
+        Function<T, Trampoline<R>> memoized = new MemoizedRecursion<>( f, cache );
+        return t -> memoized.apply( t ).invoke();
+    }
+
+    private static final class MemoizedRecursion<T, R> implements Function<T, Trampoline<R>> {
+
+        private final Function<T, Trampoline<R>> body;
+        private final MemoCache<T, R> cache;
+
+        private MemoizedRecursion( Function<Function<T, Trampoline<R>>, Function<T, Trampoline<R>>> f, MemoCache<T, R> cache ) {
+            this.cache = cache;
+            this.body = f.apply( this );
+        }
+
+        @Override
+        public Trampoline<R> apply( T t ) {
+            Result<R> cached = cache.get( t );
+            if ( cached.isPresent() ) {
+                return Trampoline.done( cached.get() );
+            }
+            return Trampoline.call( () -> body.apply( t ) ).map( r -> {
+                cache.put( t, r );
+                return r;
+            } );
+        }
+    }
+}
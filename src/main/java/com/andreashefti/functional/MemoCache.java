@@ -0,0 +1,231 @@
+package com.andreashefti.functional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/** A thread save, size bounded cache with least recently used eviction that is used to memoize functions.
+ *
+ *  The cache is split into segments by the hash of the key where each segment is an access ordered LinkedHashMap
+ *  with its own lock and its own share of the maximum size. So threads that access keys in different segments
+ *  never wait for each other and there is no global lock.
+ *
+ *  The value of a missing key is computed outside of the lock. If two threads miss the same key at the same time
+ *  both compute the value and the first one stored wins. Since memoized functions are pure, this is just
+ *  some redundant work and can not lead to different results.
+ *
+ *  Hits, misses and evictions are counted with LongAdder's and can be used to monitor the cache.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class MemoCache<K, V> {
+
+    private static final Object NULL = new Object();
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** Creates a new cache with the given maximum size and a number of segments that depends on the
+     *  available processors.
+     *
+     * @param maxSize The maximum number of entries the cache holds
+     */
+    public MemoCache( final int maxSize ) {
+        this( maxSize, Runtime.getRuntime().availableProcessors() * 4 );
+    }
+
+    /** Creates a new cache with the given maximum size and the given number of segments.
+     *  The number of segments is rounded up to the next power of two and is never greater then the maximum size.
+     *
+     * @param maxSize The maximum number of entries the cache holds
+     * @param concurrencyLevel The estimated number of threads that are accessing the cache at the same time
+     */
+    public MemoCache( final int maxSize, final int concurrencyLevel ) {
+        if ( maxSize < 1 ) {
+            throw new IllegalArgumentException( "maxSize must be greater then 0" );
+        }
+
+        int segmentCount = 1;
+        while ( segmentCount < concurrencyLevel && segmentCount * 2 <= maxSize ) {
+            segmentCount <<= 1;
+        }
+
+        segments = new Segment[ segmentCount ];
+        segmentMask = segmentCount - 1;
+        // the remainder is spread over the first segments, so the sizes of all segments sum up to maxSize
+        int segmentSize = maxSize / segmentCount;
+        int remainder = maxSize % segmentCount;
+        for ( int i = 0; i < segmentCount; i++ ) {
+            segments[ i ] = new Segment( i < remainder ? segmentSize + 1 : segmentSize, evictions );
+        }
+    }
+
+    /** Use this to get the value of the given key from the cache or to compute it with the given function and
+     *  put it into the cache if it is missing.
+     *
+     * @param key The key
+     * @param f The function that computes the value of a missing key
+     * @return the cached or computed value
+     */
+    @SuppressWarnings( "unchecked" )
+    public V get( final K key, final Function<K, V> f ) {
+        Segment segment = segmentFor( key );
+
+        Object value = segment.get( key );
+        if ( value != null ) {
+            hits.increment();
+            return value == NULL ? null : (V) value;
+        }
+
+        misses.increment();
+        V computed = f.apply( key );
+        value = segment.putIfAbsent( key, computed == null ? NULL : computed );
+        return value == NULL ? null : (V) value;
+    }
+
+    /** Use this to get the value of the given key from the cache if there is one.
+     *
+     * @param key The key
+     * @return a Success with the cached value or an Empty Result if the key is not in the cache
+     */
+    @SuppressWarnings( "unchecked" )
+    public Result<V> get( final K key ) {
+        Object value = segmentFor( key ).get( key );
+        if ( value != null ) {
+            hits.increment();
+            return Result.success( value == NULL ? null : (V) value );
+        }
+        misses.increment();
+        return Result.empty();
+    }
+
+    /** Use this to put the value of the given key into the cache. If there is already a value for the given key
+     *  the cached value is kept.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put( final K key, final V value ) {
+        segmentFor( key ).putIfAbsent( key, value == null ? NULL : value );
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /** Use this to get the ratio of hits to all requests.
+     *
+     * @return the ratio of hits to all requests or 1.0 if there was no request yet
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public int size() {
+        int size = 0;
+        for ( Segment segment : segments ) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for ( Segment segment : segments ) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MemoCache{" +
+                   "size=" + size() +
+                   ", hits=" + hitCount() +
+                   ", misses=" + missCount() +
+                   ", evictions=" + evictionCount() +
+                   '}';
+    }
+
+    private Segment segmentFor( Object key ) {
+        int h = key != null ? key.hashCode() : 0;
+        h ^= ( h >>> 16 );
+        return segments[ h & segmentMask ];
+    }
+
+    private static final class Segment extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedHashMap<Object, Object> map;
+
+        Segment( int maxSize, LongAdder evictions ) {
+            map = new LinkedHashMap<Object, Object>( 16, 0.75f, true ) {
+                @Override
+                protected boolean removeEldestEntry( Map.Entry<Object, Object> eldest ) {
+                    if ( size() > maxSize ) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        Object get( Object key ) {
+            lock();
+            try {
+                return map.get( key );
+            } finally {
+                unlock();
+            }
+        }
+
+        Object putIfAbsent( Object key, Object value ) {
+            lock();
+            try {
+                Object existing = map.get( key );
+                if ( existing != null ) {
+                    return existing;
+                }
+                map.put( key, value );
+                return value;
+            } finally {
+                unlock();
+            }
+        }
+
+        int size() {
+            lock();
+            try {
+                return map.size();
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                map.clear();
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
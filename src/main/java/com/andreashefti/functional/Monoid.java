@@ -0,0 +1,64 @@
+package com.andreashefti.functional;
+
+import java.util.function.BinaryOperator;
+
+/** A Monoid is a type with an identity value and an associative combine operation.
+ *
+ *  combine( identity, a ) and combine( a, identity ) are a, and combine( combine( a, b ), c ) is the same as
+ *  combine( a, combine( b, c ) ). Since combine is associative, a fold with a Monoid can split its input in any
+ *  parts, fold them independently (also in parallel) and combine the partial results:
+ *
+ *  <pre>
+ *      Monoid<Long> sum = Monoid.of( 0L, ( a, b ) -> a + b );
+ *      long total = FCollections.foldMapParallel( orders, sum, Order::getAmount );
+ *  </pre>
+ *
+ *  The associativity can not be checked by the compiler, it is the responsibility of the implementation.
+ *
+ * @param <T> The type of the values
+ */
+public interface Monoid<T> {
+
+    T identity();
+
+    T combine( T a, T b );
+
+    /** Use this to fold the given values with this Monoid, from left to right.
+     *
+     * @param values The values to fold
+     * @return the combination of all values or identity if there are no values
+     */
+    default T fold( Iterable<T> values ) {
+        T result = identity();
+        for ( T t : values ) {
+            result = combine( result, t );
+        }
+        return result;
+    }
+
+    /** Use this to create a Monoid from an identity value and an associative operation.
+     *
+     * @param identity The identity value
+     * @param combine The associative operation
+     * @param <T> The type of the values
+     * @return a new Monoid
+     */
+    static <T> Monoid<T> of( final T identity, final BinaryOperator<T> combine ) {
+        return new Monoid<T>() {
+            @Override public T identity() { return identity; }
+            @Override public T combine( T a, T b ) { return combine.apply( a, b ); }
+        };
+    }
+
+    static Monoid<Integer> intSum() {
+        return of( 0, ( a, b ) -> a + b );
+    }
+
+    static Monoid<Long> longSum() {
+        return of( 0L, ( a, b ) -> a + b );
+    }
+
+    static Monoid<String> string() {
+        return of( "", String::concat );
+    }
+}
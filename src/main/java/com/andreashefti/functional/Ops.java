@@ -1,5 +1,6 @@
 package com.andreashefti.functional;
 
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
@@ -30,11 +31,109 @@ public interface Ops {
      * @param <R> The type of the result of the two argument-function
      */
     @FunctionalInterface
-    interface Op2<T, U, R> extends Function<T, Function<U, R>>, Ops {}
+    interface Op2<T, U, R> extends Function<T, Function<U, R>>, Ops {
 
+        /** Use this to apply both arguments at once.
+         *
+         *  For an Op2 that is created with of( BiFunction ) this calls the uncurried function directly and
+         *  creates no intermediate function. Otherwise this is the same as apply( t ).apply( u ).
+         *
+         * @param t The first argument
+         * @param u The second argument
+         * @return the result of the operation
+         */
+        default R apply( T t, U u ) {
+            return apply( t ).apply( u );
+        }
+
+        /** Use this to create an Op2 from an uncurried function. The created Op2 can still be partially applied
+         *  but apply( t, u ) calls the given function without creating a closure for the first argument.
+         *
+         *  <code>
+         *      Op2<Integer, Integer, Integer> add = Op2.of( ( x, y ) -> x + y );
+         *      int seven = add.apply( 4, 3 );
+         *      Function<Integer, Integer> addTo5 = add.apply( 5 );
+         *  </code>
+         *
+         * @param f The uncurried function
+         * @param <T> The type of the first argument
+         * @param <U> The type of the second argument
+         * @param <R> The type of the result
+         * @return an Op2 that delegates to the given function
+         */
+        static <T, U, R> Op2<T, U, R> of( final BiFunction<T, U, R> f ) {
+            return new Op2<T, U, R>() {
+                @Override public Function<U, R> apply( T t ) { return u -> f.apply( t, u ); }
+                @Override public R apply( T t, U u ) { return f.apply( t, u ); }
+            };
+        }
+
+        /** Use this to get an Op2 for a curried function of two arguments. This is the function itself if it is
+         *  already an Op2, so the fold engines use this to call apply( t, u ) on every curried function they get.
+         *
+         * @param f The curried function
+         * @param <T> The type of the first argument
+         * @param <U> The type of the second argument
+         * @param <R> The type of the result
+         * @return the given function as Op2
+         */
+        @SuppressWarnings( "unchecked" )
+        static <T, U, R> Op2<T, U, R> from( final Function<T, Function<U, R>> f ) {
+            return f instanceof Op2 ?
+                       (Op2<T, U, R>) f :
+                       f::apply;
+        }
+    }
+
+    @FunctionalInterface
+    interface Op3<T, U, V, R> extends Function<T, Function<U, Function<V, R>>> {
+
+        /** Use this to apply all three arguments at once.
+         *
+         *  For an Op3 that is created with of( F3 ) this calls the uncurried function directly and
+         *  creates no intermediate function. Otherwise this is the same as apply( t ).apply( u ).apply( v ).
+         */
+        default R apply( T t, U u, V v ) {
+            return apply( t ).apply( u ).apply( v );
+        }
+
+        static <T, U, V, R> Op3<T, U, V, R> of( final F3<T, U, V, R> f ) {
+            return new Op3<T, U, V, R>() {
+                @Override public Function<U, Function<V, R>> apply( T t ) { return u -> v -> f.apply( t, u, v ); }
+                @Override public R apply( T t, U u, V v ) { return f.apply( t, u, v ); }
+            };
+        }
+    }
+
+    @FunctionalInterface
+    interface Op4<T, U, V, W, R> extends Function<T, Function<U, Function<V, Function<W, R>>>> {
+
+        /** Use this to apply all four arguments at once.
+         *
+         *  For an Op4 that is created with of( F4 ) this calls the uncurried function directly and
+         *  creates no intermediate function. Otherwise this is the same as apply( t ).apply( u ).apply( v ).apply( w ).
+         */
+        default R apply( T t, U u, V v, W w ) {
+            return apply( t ).apply( u ).apply( v ).apply( w );
+        }
+
+        static <T, U, V, W, R> Op4<T, U, V, W, R> of( final F4<T, U, V, W, R> f ) {
+            return new Op4<T, U, V, W, R>() {
+                @Override public Function<U, Function<V, Function<W, R>>> apply( T t ) { return u -> v -> w -> f.apply( t, u, v, w ); }
+                @Override public R apply( T t, U u, V v, W w ) { return f.apply( t, u, v, w ); }
+            };
+        }
+    }
+
+    /** An uncurried function of three arguments, use Op3.of to get a curried Op3 from it */
     @FunctionalInterface
-    interface Op3<T, U, V, R> extends Function<T, Function<U, Function<V, R>>> {}
+    interface F3<T, U, V, R> {
+        R apply( T t, U u, V v );
+    }
 
+    /** An uncurried function of four arguments, use Op4.of to get a curried Op4 from it */
     @FunctionalInterface
-    interface Op4<T, U, V, W, R> extends Function<T, Function<U, Function<V, Function<W, R>>>> {}
+    interface F4<T, U, V, W, R> {
+        R apply( T t, U u, V v, W w );
+    }
 }
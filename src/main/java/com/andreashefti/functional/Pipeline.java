@@ -0,0 +1,247 @@
+package com.andreashefti.functional;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/** A composed function that holds its stages in a flat array.
+ *
+ *  Composing functions with lambdas like x -> f.apply( g.apply( x ) ) creates a nested function whose call depth
+ *  equals the number of composed functions. Long chains of such compositions end in a StackOverflowError and are
+ *  too deep for the JIT to inline. A Pipeline instead stores all stages in one array and applies them in a loop.
+ *  Composing a Pipeline with another Pipeline flattens both into a new array, so the call depth of a Pipeline
+ *  is one, regardless of how it was built:
+ *
+ *  <pre>
+ *      Pipeline<String, Integer> parse = Pipeline.of( String::trim ).then( Integer::valueOf );
+ *      Pipeline<String, String> roundTrip = parse.then( i -> i + 1 ).then( String::valueOf );
+ *
+ *      roundTrip.apply( " 41 " )  // --> "42"
+ *  </pre>
+ *
+ *  A Pipeline is immutable. then writes the new stages in place into the array of the Pipeline if no other Pipeline
+ *  was appended to it before, otherwise the stages are copied. So building a long Pipeline stage by stage is
+ *  amortized O(1) per stage, and Pipelines that share a common prefix never see each others stages.
+ *
+ * @param <T> The input type of the pipeline
+ * @param <R> The output type of the pipeline
+ */
+public final class Pipeline<T, R> implements Function<T, R> {
+
+    /** The maximum number of stages that are chained into one MethodHandle by compile */
+    public static final int MAX_COMPILED_STAGES = 64;
+
+    private static final MethodHandle APPLY;
+    static {
+        try {
+            APPLY = MethodHandles.publicLookup().findVirtual( Function.class, "apply", MethodType.methodType( Object.class, Object.class ) );
+        } catch ( NoSuchMethodException | IllegalAccessException e ) {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+
+    private static final Pipeline<?, ?> IDENTITY = new Pipeline<>( new Stages( new Function<?, ?>[ 0 ] ), 0 );
+
+    private final Stages stages;
+    private final int size;
+
+    private Pipeline( Stages stages, int size ) {
+        this.stages = stages;
+        this.size = size;
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public R apply( T t ) {
+        Function<Object, Object>[] functions = stages.functions;
+        Object result = t;
+        for ( int i = 0; i < size; i++ ) {
+            result = functions[ i ].apply( result );
+        }
+        return (R) result;
+    }
+
+    /** Use this to get a new Pipeline that applies the given function to the result of this Pipeline.
+     *  If the given function is a Pipeline itself, its stages are appended to the stages of this Pipeline.
+     *
+     * @param f The function to apply after this Pipeline
+     * @param <V> The output type of the new Pipeline
+     * @return a new Pipeline with the stages of this Pipeline followed by the given function
+     */
+    public <V> Pipeline<T, V> then( final Function<? super R, ? extends V> f ) {
+        return f instanceof Pipeline ?
+                   append( ( (Pipeline<?, ?>) f ).stages.functions, ( (Pipeline<?, ?>) f ).size ) :
+                   append( new Function<?, ?>[] { f }, 1 );
+    }
+
+    @Override
+    public <V> Pipeline<T, V> andThen( final Function<? super R, ? extends V> after ) {
+        return then( after );
+    }
+
+    @Override
+    public <V> Pipeline<V, R> compose( final Function<? super V, ? extends T> before ) {
+        return Pipeline.<V>identity().then( before ).then( this );
+    }
+
+    /** Use this to compile this Pipeline into a single MethodHandle that is exposed as a Function.
+     *
+     *  Each stage is bound as receiver of Function.apply and the stages are chained with
+     *  MethodHandles.filterReturnValue, so the compiled function has no loop and no array access and each stage
+     *  is called from its own call site. The JIT can only inline through the handle if it sees it as a constant,
+     *  so keep a compiled function in a static final field. If it is held in an instance field or a collection,
+     *  the handle is invoked like any other MethodHandle and the compiled function is not faster then the Pipeline.
+     *
+     *  A chain of filterReturnValue handles is nested, so long Pipelines are compiled in segments of
+     *  MAX_COMPILED_STAGES stages that are applied one after another.
+     *
+     * @return a Function that applies the stages of this Pipeline through MethodHandles
+     */
+    public Function<T, R> compile() {
+        MethodHandle[] segments = new MethodHandle[ ( size + MAX_COMPILED_STAGES - 1 ) / MAX_COMPILED_STAGES ];
+        for ( int i = 0; i < segments.length; i++ ) {
+            int end = Math.min( size, ( i + 1 ) * MAX_COMPILED_STAGES );
+            MethodHandle handle = MethodHandles.identity( Object.class );
+            for ( int j = i * MAX_COMPILED_STAGES; j < end; j++ ) {
+                handle = MethodHandles.filterReturnValue( handle, APPLY.bindTo( stages.functions[ j ] ) );
+            }
+            segments[ i ] = handle;
+        }
+        return segments.length == 1 ?
+                   new Compiled<>( segments[ 0 ] ) :
+                   new CompiledSegments<>( segments );
+    }
+
+    /** Use this to get the number of stages of this Pipeline.
+     *
+     * @return the number of stages of this Pipeline
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "Pipeline{stages=" + size + "}";
+    }
+
+    /* Appends the given functions to the Stages of this Pipeline in place if this Pipeline is the last one that was
+     * appended to them and there is enough capacity left. Otherwise the functions are copied into new Stages.
+     * So building a Pipeline by appending one function after another is amortized O(1) per function. */
+    private <V> Pipeline<T, V> append( final Function<?, ?>[] functions, final int length ) {
+        int newSize = size + length;
+        if ( newSize <= stages.functions.length && stages.used.compareAndSet( size, newSize ) ) {
+            System.arraycopy( functions, 0, stages.functions, size, length );
+            return new Pipeline<>( stages, newSize );
+        }
+
+        Function<?, ?>[] copy = Arrays.copyOf( stages.functions, Math.max( newSize * 2, 8 ), Function[].class );
+        System.arraycopy( functions, 0, copy, size, length );
+        Stages newStages = new Stages( copy );
+        newStages.used.set( newSize );
+        return new Pipeline<>( newStages, newSize );
+    }
+
+    private static final class Compiled<T, R> implements Function<T, R> {
+
+        private final MethodHandle handle;
+
+        private Compiled( MethodHandle handle ) {
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public R apply( T t ) {
+            try {
+                return (R) (Object) handle.invokeExact( (Object) t );
+            } catch ( RuntimeException | Error e ) {
+                throw e;
+            } catch ( Throwable e ) {
+                throw new IllegalStateException( e );
+            }
+        }
+    }
+
+    private static final class CompiledSegments<T, R> implements Function<T, R> {
+
+        private final MethodHandle[] segments;
+
+        private CompiledSegments( MethodHandle[] segments ) {
+            this.segments = segments;
+        }
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public R apply( T t ) {
+            try {
+                Object result = t;
+                for ( MethodHandle segment : segments ) {
+                    result = (Object) segment.invokeExact( result );
+                }
+                return (R) result;
+            } catch ( RuntimeException | Error e ) {
+                throw e;
+            } catch ( Throwable e ) {
+                throw new IllegalStateException( e );
+            }
+        }
+    }
+
+    /* The shared array of the functions of one or more Pipelines. Each Pipeline uses the first size functions */
+    private static final class Stages {
+
+        private final Function<Object, Object>[] functions;
+        private final AtomicInteger used;
+
+        @SuppressWarnings( "unchecked" )
+        private Stages( Function<?, ?>[] functions ) {
+            this.functions = (Function<Object, Object>[]) functions;
+            this.used = new AtomicInteger( functions.length );
+        }
+    }
+
+
+    /** Use this to get the Pipeline with no stages that gives back its input.
+     *
+     * @param <T> The type of the input and output
+     * @return the identity Pipeline
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> Pipeline<T, T> identity() {
+        return (Pipeline<T, T>) IDENTITY;
+    }
+
+    /** Use this to get a Pipeline with the given function as its first stage. This is the function itself if it
+     *  already is a Pipeline.
+     *
+     * @param f The function
+     * @param <T> The input type of the function
+     * @param <R> The output type of the function
+     * @return a Pipeline that applies the given function
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T, R> Pipeline<T, R> of( final Function<T, R> f ) {
+        return f instanceof Pipeline ?
+                   (Pipeline<T, R>) f :
+                   Pipeline.<T>identity().then( f );
+    }
+
+    /** Use this to create a Pipeline that applies all the given functions in the given order.
+     *  The stages of nested Pipelines are flattened into the new Pipeline.
+     *
+     * @param functions The functions to apply in the given order
+     * @param <T> The type of the input and output of each function
+     * @return a Pipeline that applies all the given functions in the given order
+     */
+    public static <T> Pipeline<T, T> chain( final Iterable<? extends Function<T, T>> functions ) {
+        Pipeline<T, T> result = identity();
+        for ( Function<T, T> f : functions ) {
+            result = result.then( f );
+        }
+        return result;
+    }
+}
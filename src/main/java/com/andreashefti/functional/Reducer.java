@@ -0,0 +1,79 @@
+package com.andreashefti.functional;
+
+import com.andreashefti.functional.Ops.Op2;
+
+import java.util.function.Function;
+
+/** A Reducer is the step function of a left fold together with a completion step and an early termination signal.
+ *
+ *  step folds one element into the accumulated value, like the curried function of FCollections.leftFold.
+ *  A fold stops as soon as isReduced gives true, for example when a take transducer got all its elements, and
+ *  calls complete with the accumulated value at the end, so a stateful reducer can flush what it still holds.
+ *  A Reducer with state is created anew for each fold, usually by applying a Transducer.
+ *
+ * @param <A> The type of the accumulated value
+ * @param <T> The type of the elements
+ */
+public interface Reducer<A, T> {
+
+    A step( A acc, T t );
+
+    default A complete( A acc ) {
+        return acc;
+    }
+
+    default boolean isReduced() {
+        return false;
+    }
+
+    /** Use this to create a Reducer from a curried fold function as used by the folds of FCollections.
+     *
+     * @param f The fold function
+     * @param <A> The type of the accumulated value
+     * @param <T> The type of the elements
+     * @return a Reducer that steps with the given function
+     */
+    static <A, T> Reducer<A, T> of( final Function<A, Function<T, A>> f ) {
+        Op2<A, T, A> op = Op2.from( f );
+        return ( acc, t ) -> op.apply( acc, t );
+    }
+
+    /** Use this to create a Reducer that applies the given effect to each element, for push sources like a
+     *  channel or a BatchingEffect where there is no accumulated value. The accumulated value is always null.
+     *
+     * @param effect The effect to apply to each element
+     * @param <T> The type of the elements
+     * @return a Reducer that applies the given effect
+     */
+    static <T> Reducer<Void, T> effect( final Effect<T> effect ) {
+        return ( acc, t ) -> {
+            effect.apply( t );
+            return null;
+        };
+    }
+
+    /** A base for the Reducers of transducers that passes complete and isReduced on to the next Reducer.
+     *
+     * @param <A> The type of the accumulated value
+     * @param <T> The type of the elements of this Reducer
+     * @param <U> The type of the elements of the next Reducer
+     */
+    abstract class Forwarding<A, T, U> implements Reducer<A, T> {
+
+        protected final Reducer<A, U> next;
+
+        protected Forwarding( Reducer<A, U> next ) {
+            this.next = next;
+        }
+
+        @Override
+        public A complete( A acc ) {
+            return next.complete( acc );
+        }
+
+        @Override
+        public boolean isReduced() {
+            return next.isReduced();
+        }
+    }
+}
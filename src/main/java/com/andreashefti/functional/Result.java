@@ -2,10 +2,22 @@ package com.andreashefti.functional;
 
 import java.io.Serializable;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
  * Created by andreashefti on 16.10.17.
+ *
+ * A Result is either a Success with a value, Empty or a Failure with an exception.
+ *
+ * map, flatMap, filter and mapFailure give a new Result only if there is something to change, Empty and Failure
+ * give back themselves for map, flatMap and filter and Success gives back itself for mapFailure. A RuntimeException
+ * that is thrown by a given function or predicate is returned as Failure.
+ * To apply the same steps to many values, use a ResultPipeline that allocates only the final Result.
+ *
+ * For expected failures that are part of the normal control flow use stacklessFailure, that creates no exception
+ * and no stack trace. ResultMetrics counts the created Results if it is enabled.
  */
 public abstract class Result<T> implements Serializable {
 
@@ -20,6 +32,45 @@ public abstract class Result<T> implements Serializable {
     public abstract Result<T> orElse( final Supplier<Result<T>> defaultValue );
     public abstract Optional<T> toOptional();
 
+    /** Use this to map the value of a Success with the given function.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a Success with the mapped value, a Failure if f throws, or this if this is Empty or a Failure
+     */
+    public abstract <U> Result<U> map( final Function<T, U> f );
+
+    /** Use this to map the value of a Success to a Result with the given function.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return the Result of f, a Failure if f throws, or this if this is Empty or a Failure
+     */
+    public abstract <U> Result<U> flatMap( final Function<T, Result<U>> f );
+
+    /** Use this to get Empty for a Success whose value not matches the given predicate.
+     *
+     * @param p The predicate
+     * @return this if this is a Success that matches the predicate or if this is not a Success, Empty otherwise
+     */
+    public abstract Result<T> filter( final Predicate<T> p );
+
+    /** Use this to apply the given effect to the value of a Success. Nothing happens for Empty and Failure.
+     *
+     * @param effect The effect to apply to the value
+     */
+    public abstract void forEach( final Effect<T> effect );
+
+    /** Use this to map the exception of a Failure with the given function.
+     *
+     * @param f The function that maps the exception
+     * @return a Failure with the mapped exception if this is a Failure, this otherwise
+     */
+    public abstract Result<T> mapFailure( final Function<RuntimeException, RuntimeException> f );
+
+    /* The exception of a Failure or null for Success and Empty */
+    abstract RuntimeException failureException();
+
 
     private static final class Success<T> extends Result<T> {
 
@@ -34,8 +85,40 @@ public abstract class Result<T> implements Serializable {
         @Override public T get() { return value; }
         @Override public T getOrElse( T defaultValue ) { return value; }
         @Override public T getOrElse( Supplier<T> defaultValue ) { return value; }
-        @Override public Result<T> orElse( Supplier<Result<T>> defaultValue ) { return success( value ); }
+        @Override public Result<T> orElse( Supplier<Result<T>> defaultValue ) { return this; }
         @Override public Optional<T> toOptional() { return Optional.of( value ); }
+        @Override public void forEach( Effect<T> effect ) { effect.apply( value ); }
+        @Override public Result<T> mapFailure( Function<RuntimeException, RuntimeException> f ) { return this; }
+        @Override RuntimeException failureException() { return null; }
+
+        @Override
+        public <U> Result<U> map( Function<T, U> f ) {
+            try {
+                return success( f.apply( value ) );
+            } catch ( RuntimeException e ) {
+                return failure( e );
+            }
+        }
+
+        @Override
+        public <U> Result<U> flatMap( Function<T, Result<U>> f ) {
+            try {
+                return f.apply( value );
+            } catch ( RuntimeException e ) {
+                return failure( e );
+            }
+        }
+
+        @Override
+        public Result<T> filter( Predicate<T> p ) {
+            try {
+                return p.test( value ) ?
+                           this :
+                           empty();
+            } catch ( RuntimeException e ) {
+                return failure( e );
+            }
+        }
 
         @Override
         public String toString() {
@@ -55,6 +138,12 @@ public abstract class Result<T> implements Serializable {
         @Override public T getOrElse( Supplier<T> defaultValue ) { return defaultValue.get(); }
         @Override public Result<T> orElse( Supplier<Result<T>> defaultValue ) { return defaultValue.get(); }
         @Override public Optional<T> toOptional() { return Optional.empty(); }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> map( Function<T, U> f ) { return (Result<U>) this; }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> flatMap( Function<T, Result<U>> f ) { return (Result<U>) this; }
+        @Override public Result<T> filter( Predicate<T> p ) { return this; }
+        @Override public void forEach( Effect<T> effect ) {}
+        @Override public Result<T> mapFailure( Function<RuntimeException, RuntimeException> f ) { return this; }
+        @Override RuntimeException failureException() { return null; }
 
         @Override
         public String toString() {
@@ -87,6 +176,12 @@ public abstract class Result<T> implements Serializable {
         @Override public T getOrElse( final Supplier<T> defaultValue ) { return defaultValue.get(); }
         @Override public Result<T> orElse( Supplier<Result<T>> defaultValue ) { return defaultValue.get(); }
         @Override public Optional<T> toOptional() { return Optional.empty(); }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> map( Function<T, U> f ) { return (Result<U>) this; }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> flatMap( Function<T, Result<U>> f ) { return (Result<U>) this; }
+        @Override public Result<T> filter( Predicate<T> p ) { return this; }
+        @Override public void forEach( Effect<T> effect ) {}
+        @Override public Result<T> mapFailure( Function<RuntimeException, RuntimeException> f ) { return failure( f.apply( exception ) ); }
+        @Override RuntimeException failureException() { return exception; }
 
         @Override
         public String toString() {
@@ -96,26 +191,125 @@ public abstract class Result<T> implements Serializable {
         }
     }
 
+    /* A Failure with a message and a code that creates its exception only when it is needed, without a stack trace */
+    private static final class StacklessFailure<T> extends Result<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String code;
+        private final String message;
+        private FailureException exception;
+
+        private StacklessFailure( String code, String message ) {
+            super();
+            this.code = code;
+            this.message = message;
+        }
+
+        private FailureException exception() {
+            if ( exception == null ) {
+                exception = new FailureException( code, message );
+            }
+            return exception;
+        }
+
+        @Override public boolean isPresent() { return false; }
+        @Override public T get() { throw exception(); }
+        @Override public T getOrElse( final T defaultValue ) { return defaultValue; }
+        @Override public T getOrElse( final Supplier<T> defaultValue ) { return defaultValue.get(); }
+        @Override public Result<T> orElse( Supplier<Result<T>> defaultValue ) { return defaultValue.get(); }
+        @Override public Optional<T> toOptional() { return Optional.empty(); }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> map( Function<T, U> f ) { return (Result<U>) this; }
+        @Override @SuppressWarnings( "unchecked" ) public <U> Result<U> flatMap( Function<T, Result<U>> f ) { return (Result<U>) this; }
+        @Override public Result<T> filter( Predicate<T> p ) { return this; }
+        @Override public void forEach( Effect<T> effect ) {}
+        @Override public Result<T> mapFailure( Function<RuntimeException, RuntimeException> f ) { return failure( f.apply( exception() ) ); }
+        @Override RuntimeException failureException() { return exception(); }
+
+        @Override
+        public String toString() {
+            return "Failure{" +
+                       "code=" + code +
+                       ", message=" + message +
+                       '}';
+        }
+    }
+
+    /** The exception of a stackless Failure. It has no stack trace and no cause and can not be suppressed, so
+     *  creating it is not more expensive then creating any other small object.
+     */
+    public static final class FailureException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String code;
+
+        private FailureException( String code, String message ) {
+            super( message, null, false, false );
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        @Override
+        public String toString() {
+            return code == null ?
+                       "FailureException: " + getMessage() :
+                       "FailureException[" + code + "]: " + getMessage();
+        }
+    }
+
 
     public final static <T> Result<T> failure( String message ) {
+        ResultMetrics.failure();
         return new Failure<>( message );
     }
 
     public final static <T> Result<T> failure( Exception e ) {
+        ResultMetrics.failure();
         return new Failure<>( e );
     }
 
     public final static <T> Result<T> failure( RuntimeException e ) {
+        ResultMetrics.failure();
         return new Failure<>( e );
     }
 
 
+    /** Use this to create a cheap Failure for expected failures like validation misses, where the Failure is part
+     *  of the normal control flow. Other then failure( message ) this creates no exception and no stack trace.
+     *  A FailureException without stack trace is created only if get() or mapFailure is called on the Failure.
+     *
+     * @param message The message of the failure
+     * @param <T> The type of the Result
+     * @return a Failure with the given message
+     */
+    public final static <T> Result<T> stacklessFailure( String message ) {
+        return stacklessFailure( null, message );
+    }
+
+    /** Use this to create a cheap Failure with a code for expected failures. See stacklessFailure( message )
+     *
+     * @param code The code of the failure, accessible with FailureException.getCode
+     * @param message The message of the failure
+     * @param <T> The type of the Result
+     * @return a Failure with the given code and message
+     */
+    public final static <T> Result<T> stacklessFailure( String code, String message ) {
+        ResultMetrics.stacklessFailure();
+        return new StacklessFailure<>( code, message );
+    }
+
     public final static <T> Result<T> success( T value ) {
+        ResultMetrics.success();
         return new Success<>( value );
     }
 
     @SuppressWarnings("unchecked")
     public final static <V> Result<V> empty() {
+        ResultMetrics.empty();
         return EMPTY;
     }
 
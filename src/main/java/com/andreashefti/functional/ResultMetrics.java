@@ -0,0 +1,94 @@
+package com.andreashefti.functional;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters of the created Results.
+ *
+ *  Counting is disabled by default, then each Result factory only reads a flag. Enable it with enable() or with
+ *  the system property functional.result.metrics=true to see how many of the Results are failures:
+ *
+ *  <pre>
+ *      ResultMetrics.enable();
+ *      ...
+ *      log.info( "validation failure rate: " + ResultMetrics.failureRate() );
+ *  </pre>
+ *
+ *  The counters are LongAdders, so counting does not contend between threads.
+ */
+public abstract class ResultMetrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean( "functional.result.metrics" );
+
+    private static final LongAdder SUCCESS = new LongAdder();
+    private static final LongAdder EMPTY = new LongAdder();
+    private static final LongAdder FAILURE = new LongAdder();
+    private static final LongAdder STACKLESS_FAILURE = new LongAdder();
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Use this to set all counters to zero */
+    public static void reset() {
+        SUCCESS.reset();
+        EMPTY.reset();
+        FAILURE.reset();
+        STACKLESS_FAILURE.reset();
+    }
+
+    public static long successCount() {
+        return SUCCESS.sum();
+    }
+
+    public static long emptyCount() {
+        return EMPTY.sum();
+    }
+
+    /** Use this to get the number of all created Failures, including the stackless Failures
+     *
+     * @return the number of all created Failures
+     */
+    public static long failureCount() {
+        return FAILURE.sum() + STACKLESS_FAILURE.sum();
+    }
+
+    public static long stacklessFailureCount() {
+        return STACKLESS_FAILURE.sum();
+    }
+
+    /** Use this to get the ratio of the created Failures to all created Results.
+     *
+     * @return the ratio of Failures to all Results or 0.0 if no Result was counted
+     */
+    public static double failureRate() {
+        long failures = failureCount();
+        long total = SUCCESS.sum() + EMPTY.sum() + failures;
+        return total == 0 ?
+                   0.0 :
+                   (double) failures / total;
+    }
+
+    static void success() {
+        if ( enabled ) SUCCESS.increment();
+    }
+
+    static void empty() {
+        if ( enabled ) EMPTY.increment();
+    }
+
+    static void failure() {
+        if ( enabled ) FAILURE.increment();
+    }
+
+    static void stacklessFailure() {
+        if ( enabled ) STACKLESS_FAILURE.increment();
+    }
+}
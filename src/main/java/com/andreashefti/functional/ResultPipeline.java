@@ -0,0 +1,147 @@
+package com.andreashefti.functional;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/** A fused chain of Result operations that is applied to plain values.
+ *
+ *  Chaining map, flatMap and filter on a Result creates a new Success for every step. A ResultPipeline defines the
+ *  steps once and applies them to the plain value within one loop, so only the final Result is allocated
+ *  (and the Results that are given back by flatMap steps):
+ *
+ *  <pre>
+ *      private static final ResultPipeline<String, Integer> AGE = ResultPipeline.<String>start()
+ *          .map( String::trim )
+ *          .validate( s -> !s.isEmpty(), "age is missing" )
+ *          .map( Integer::valueOf )
+ *          .validate( age -> age >= 0, "age is negative" );
+ *
+ *      Result<Integer> age = AGE.apply( request.getParameter( "age" ) );
+ *  </pre>
+ *
+ *  Like the Result operations, a RuntimeException that is thrown by a step ends the pipeline with a Failure.
+ *
+ * @param <T> The type of the input value
+ * @param <R> The type of the value of the resulting Result
+ */
+public final class ResultPipeline<T, R> implements Function<T, Result<R>> {
+
+    private static final ResultPipeline<?, ?> START = new ResultPipeline<>( new Step[ 0 ] );
+
+    private final Step[] steps;
+
+    private ResultPipeline( Step[] steps ) {
+        this.steps = steps;
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public Result<R> apply( T t ) {
+        Object value = t;
+        try {
+            for ( Step step : steps ) {
+                switch ( step.kind ) {
+                    case MAP:
+                        value = step.function.apply( value );
+                        break;
+                    case FLAT_MAP:
+                        Result<Object> result = (Result<Object>) step.function.apply( value );
+                        if ( !result.isPresent() ) {
+                            return (Result<R>) result;
+                        }
+                        value = result.get();
+                        break;
+                    case FILTER:
+                        if ( !step.predicate.test( value ) ) {
+                            return step.message == null ?
+                                       Result.empty() :
+                                       Result.stacklessFailure( step.message );
+                        }
+                        break;
+                }
+            }
+        } catch ( RuntimeException e ) {
+            return Result.failure( e );
+        }
+        return Result.success( (R) value );
+    }
+
+    /** Use this to apply this pipeline to the value of a Result. Empty and Failure are given back as they are.
+     *
+     * @param result The Result to apply the pipeline to
+     * @return the Result of the pipeline or the given Result if it is Empty or a Failure
+     */
+    @SuppressWarnings( "unchecked" )
+    public Result<R> apply( final Result<T> result ) {
+        return result.isPresent() ?
+                   apply( result.get() ) :
+                   (Result<R>) result;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <U> ResultPipeline<T, U> map( final Function<R, U> f ) {
+        return add( new Step( Kind.MAP, (Function<Object, Object>) f, null, null ) );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <U> ResultPipeline<T, U> flatMap( final Function<R, Result<U>> f ) {
+        return add( new Step( Kind.FLAT_MAP, (Function<Object, Object>) (Function<?, ?>) f, null, null ) );
+    }
+
+    /** Use this to add a step that ends the pipeline with Empty if the value not matches the given predicate.
+     *
+     * @param p The predicate
+     * @return a new pipeline with the additional filter step
+     */
+    @SuppressWarnings( "unchecked" )
+    public ResultPipeline<T, R> filter( final Predicate<R> p ) {
+        return add( new Step( Kind.FILTER, null, (Predicate<Object>) p, null ) );
+    }
+
+    /** Use this to add a step that ends the pipeline with a Failure with the given message if the value not
+     *  matches the given predicate. Since validation misses are expected, this is a stackless Failure.
+     *
+     * @param p The predicate
+     * @param message The message of the Failure
+     * @return a new pipeline with the additional validation step
+     */
+    @SuppressWarnings( "unchecked" )
+    public ResultPipeline<T, R> validate( final Predicate<R> p, final String message ) {
+        return add( new Step( Kind.FILTER, null, (Predicate<Object>) p, message ) );
+    }
+
+    private <U> ResultPipeline<T, U> add( final Step step ) {
+        Step[] newSteps = Arrays.copyOf( steps, steps.length + 1 );
+        newSteps[ steps.length ] = step;
+        return new ResultPipeline<>( newSteps );
+    }
+
+    private enum Kind { MAP, FLAT_MAP, FILTER }
+
+    private static final class Step {
+
+        private final Kind kind;
+        private final Function<Object, Object> function;
+        private final Predicate<Object> predicate;
+        private final String message;
+
+        private Step( Kind kind, Function<Object, Object> function, Predicate<Object> predicate, String message ) {
+            this.kind = kind;
+            this.function = function;
+            this.predicate = predicate;
+            this.message = message;
+        }
+    }
+
+
+    /** Use this to start a new pipeline without any steps. It gives a Success with the input value.
+     *
+     * @param <T> The type of the input value
+     * @return a pipeline without any steps
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> ResultPipeline<T, T> start() {
+        return (ResultPipeline<T, T>) START;
+    }
+}
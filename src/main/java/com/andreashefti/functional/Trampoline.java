@@ -1,7 +1,8 @@
 package com.andreashefti.functional;
 
+import java.util.Arrays;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 /**
  * Created by andreashefti on 24.07.17.
@@ -17,12 +18,71 @@ public interface Trampoline<T> extends Supplier<Trampoline<T>> {
         throw new Error( "not implemented" );
     }
 
+    /** Use this to chain a Trampoline that depends on the result of this Trampoline.
+     *  With flatMap also none tail recursive functions can be made stack save, for example:
+     *
+     *  <pre>
+     *      static Trampoline<Integer> sum( FList<Integer> list ) {
+     *          return list.isEmpty() ?
+     *              Trampoline.done( 0 ) :
+     *              Trampoline.call( () -> sum( list.tail() ) ).map( s -> list.head() + s );
+     *      }
+     *  </pre>
+     *
+     * @param f The function that gives the next Trampoline for the result of this Trampoline
+     * @param <U> The result type of the next Trampoline
+     * @return a Trampoline that evaluates this Trampoline and then the Trampoline given by f
+     */
+    default <U> Trampoline<U> flatMap( final Function<T, Trampoline<U>> f ) {
+        return new FlatMap<>( this, f );
+    }
+
+    /** Use this to map the result of this Trampoline with a given function.
+     *
+     * @param f The map function
+     * @param <U> The result type of the map function
+     * @return a Trampoline that evaluates this Trampoline and then applies f on its result
+     */
+    default <U> Trampoline<U> map( final Function<T, U> f ) {
+        return new FlatMap<>( this, t -> done( f.apply( t ) ) );
+    }
+
+    /** Evaluates this Trampoline by bouncing from one call to the next within a simple loop
+     *  until a completed Trampoline is reached.
+     *
+     *  The continuations of FlatMap's are pushed to a stack on the heap instead of the call stack, so the
+     *  evaluation runs in constant stack depth. The continuation stack is only created if there is a FlatMap,
+     *  so a simple tail call Trampoline does not allocate anything except the calls itself.
+     *
+     * @return the result of the completed Trampoline
+     */
+    @SuppressWarnings( "unchecked" )
     default T invoke() {
-        return Stream.iterate( this, Trampoline::get )
-                   .filter( Trampoline::isComplete )
-                   .findFirst()
-                   .get()
-                   .result();
+        Trampoline<Object> trampoline = (Trampoline<Object>) this;
+        Function<Object, Trampoline<Object>>[] continuations = null;
+        int top = 0;
+
+        while ( true ) {
+            if ( trampoline instanceof FlatMap ) {
+                FlatMap<Object, Object> flatMap = (FlatMap<Object, Object>) trampoline;
+                if ( continuations == null ) {
+                    continuations = (Function<Object, Trampoline<Object>>[]) new Function<?, ?>[ 16 ];
+                } else if ( top == continuations.length ) {
+                    continuations = Arrays.copyOf( continuations, top * 2 );
+                }
+                continuations[ top++ ] = flatMap.f;
+                trampoline = flatMap.sub;
+            } else if ( trampoline.isComplete() ) {
+                if ( top == 0 ) {
+                    return (T) trampoline.result();
+                }
+                Function<Object, Trampoline<Object>> f = continuations[ --top ];
+                continuations[ top ] = null;
+                trampoline = f.apply( trampoline.result() );
+            } else {
+                trampoline = trampoline.get();
+            }
+        }
     }
 
 
@@ -31,18 +91,58 @@ public interface Trampoline<T> extends Supplier<Trampoline<T>> {
     }
 
     static <T> Trampoline<T> done( final T value ) {
-        return new Trampoline<T>() {
-            @Override
-            public boolean isComplete() {
-                return true;
-            }
-            @Override public T result() {
-                return value;
+        return new Done<>( value );
+    }
+
+    /** The completed Trampoline that holds the result */
+    final class Done<T> implements Trampoline<T> {
+
+        private final T value;
+
+        private Done( T value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isComplete() {
+            return true;
+        }
+
+        @Override
+        public T result() {
+            return value;
+        }
+
+        @Override
+        public Trampoline<T> get() {
+            throw new IllegalStateException( "Done has no next call" );
+        }
+    }
+
+    /** A Trampoline that evaluates the sub Trampoline and continues with the Trampoline given by f for its result */
+    final class FlatMap<T, U> implements Trampoline<U> {
+
+        private final Trampoline<T> sub;
+        private final Function<T, Trampoline<U>> f;
+
+        private FlatMap( Trampoline<T> sub, Function<T, Trampoline<U>> f ) {
+            this.sub = sub;
+            this.f = f;
+        }
+
+        /* Does one step without using the call stack. This is only used if a FlatMap is evaluated step by step,
+         * invoke uses the continuation stack instead */
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public Trampoline<U> get() {
+            if ( sub instanceof FlatMap ) {
+                FlatMap<Object, T> inner = (FlatMap<Object, T>) sub;
+                return inner.sub.flatMap( x -> inner.f.apply( x ).flatMap( f ) );
             }
-            @Override
-            public Trampoline<T> get() {
-                throw new Error( "not implemented" );
+            if ( sub.isComplete() ) {
+                return f.apply( sub.result() );
             }
-        };
+            return sub.get().flatMap( f );
+        }
     }
 }
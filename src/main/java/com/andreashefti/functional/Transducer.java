@@ -0,0 +1,227 @@
+package com.andreashefti.functional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/** A Transducer is a transformation of Reducers, independent of the source of the elements.
+ *
+ *  A transducer turns a Reducer of U into a Reducer of T, so map, filter or take are defined once, without knowing
+ *  whether the elements come from a List, a FStream, an Iterator or are pushed by a channel. Transducers compose
+ *  with then, where the first transducer sees the elements first. The composed transducer is created once and can
+ *  be reused for any number of folds:
+ *
+ *  <pre>
+ *      Transducer<String, List<Integer>> xform = Transducer.<String, Integer>map( Integer::valueOf )
+ *          .then( Transducer.filter( i -> i > 0 ) )
+ *          .then( Transducer.dedupe() )
+ *          .then( Transducer.take( 1000 ) )
+ *          .then( Transducer.partition( 100 ) );
+ *
+ *      int batches = FCollections.transduce( lines, xform, 0, count -> batch -> count + 1 );
+ *
+ *      Reducer<Void, String> channel = xform.apply( Reducer.effect( batchWriter ) );
+ *      channel.step( null, line );   // for each pushed line, until channel.isReduced()
+ *      channel.complete( null );     // flushes the last partial batch
+ *  </pre>
+ *
+ *  Applying a transducer creates the Reducers of a fold, with a new state for stateful transducers like take,
+ *  dedupe and partition. So a Reducer given by apply is used for one fold only.
+ *
+ * @param <T> The type of the input elements
+ * @param <U> The type of the output elements
+ */
+public interface Transducer<T, U> {
+
+    <A> Reducer<A, T> apply( Reducer<A, U> reducer );
+
+    /** Use this to compose this transducer with the given one. The elements pass this transducer first.
+     *
+     * @param next The transducer that gets the output of this transducer
+     * @param <V> The output type of the next transducer
+     * @return a new transducer that applies this and then the given transducer
+     */
+    default <V> Transducer<T, V> then( final Transducer<U, V> next ) {
+        Transducer<T, U> self = this;
+        return new Transducer<T, V>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, V> reducer ) {
+                return self.apply( next.apply( reducer ) );
+            }
+        };
+    }
+
+    static <T> Transducer<T, T> identity() {
+        return new Transducer<T, T>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, T> reducer ) {
+                return reducer;
+            }
+        };
+    }
+
+    static <T, U> Transducer<T, U> map( final Function<T, U> f ) {
+        return new Transducer<T, U>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, U> reducer ) {
+                return new Reducer.Forwarding<A, T, U>( reducer ) {
+                    @Override
+                    public A step( A acc, T t ) {
+                        return next.step( acc, f.apply( t ) );
+                    }
+                };
+            }
+        };
+    }
+
+    static <T> Transducer<T, T> filter( final Predicate<T> p ) {
+        return new Transducer<T, T>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, T> reducer ) {
+                return new Reducer.Forwarding<A, T, T>( reducer ) {
+                    @Override
+                    public A step( A acc, T t ) {
+                        return p.test( t ) ?
+                                   next.step( acc, t ) :
+                                   acc;
+                    }
+                };
+            }
+        };
+    }
+
+    /** Use this to get a transducer that passes on the first n elements and then ends the fold.
+     *
+     * @param n The number of elements to pass on
+     * @param <T> The type of the elements
+     * @return a transducer that passes on the first n elements
+     */
+    static <T> Transducer<T, T> take( final long n ) {
+        return new Transducer<T, T>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, T> reducer ) {
+                return new Reducer.Forwarding<A, T, T>( reducer ) {
+                    private long taken = 0;
+
+                    @Override
+                    public A step( A acc, T t ) {
+                        if ( taken >= n ) {
+                            return acc;
+                        }
+                        taken++;
+                        return next.step( acc, t );
+                    }
+
+                    @Override
+                    public boolean isReduced() {
+                        return taken >= n || next.isReduced();
+                    }
+                };
+            }
+        };
+    }
+
+    /** Use this to get a transducer that passes on elements as long as they match the given predicate and
+     *  ends the fold at the first element that not matches.
+     *
+     * @param p The predicate
+     * @param <T> The type of the elements
+     * @return a transducer that passes on the leading elements that match the predicate
+     */
+    static <T> Transducer<T, T> takeWhile( final Predicate<T> p ) {
+        return new Transducer<T, T>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, T> reducer ) {
+                return new Reducer.Forwarding<A, T, T>( reducer ) {
+                    private boolean done = false;
+
+                    @Override
+                    public A step( A acc, T t ) {
+                        if ( done || !p.test( t ) ) {
+                            done = true;
+                            return acc;
+                        }
+                        return next.step( acc, t );
+                    }
+
+                    @Override
+                    public boolean isReduced() {
+                        return done || next.isReduced();
+                    }
+                };
+            }
+        };
+    }
+
+    /** Use this to get a transducer that drops an element if it is equal to the element before.
+     *
+     * @param <T> The type of the elements
+     * @return a transducer that drops consecutive duplicates
+     */
+    static <T> Transducer<T, T> dedupe() {
+        return new Transducer<T, T>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, T> reducer ) {
+                return new Reducer.Forwarding<A, T, T>( reducer ) {
+                    private boolean first = true;
+                    private T last;
+
+                    @Override
+                    public A step( A acc, T t ) {
+                        if ( !first && Objects.equals( last, t ) ) {
+                            return acc;
+                        }
+                        first = false;
+                        last = t;
+                        return next.step( acc, t );
+                    }
+                };
+            }
+        };
+    }
+
+    /** Use this to get a transducer that groups the elements in unmodifiable lists of the given size.
+     *  The last list holds the remaining elements and may be shorter, it is passed on when the fold completes.
+     *
+     * @param size The number of elements of a list
+     * @param <T> The type of the elements
+     * @return a transducer that groups the elements in lists of the given size
+     */
+    static <T> Transducer<T, List<T>> partition( final int size ) {
+        if ( size < 1 ) {
+            throw new IllegalArgumentException( "size must be positive: " + size );
+        }
+        return new Transducer<T, List<T>>() {
+            @Override
+            public <A> Reducer<A, T> apply( Reducer<A, List<T>> reducer ) {
+                return new Reducer.Forwarding<A, T, List<T>>( reducer ) {
+                    private List<T> partition = new ArrayList<>( size );
+
+                    @Override
+                    public A step( A acc, T t ) {
+                        partition.add( t );
+                        if ( partition.size() < size ) {
+                            return acc;
+                        }
+                        List<T> full = Collections.unmodifiableList( partition );
+                        partition = new ArrayList<>( size );
+                        return next.step( acc, full );
+                    }
+
+                    @Override
+                    public A complete( A acc ) {
+                        if ( !partition.isEmpty() && !next.isReduced() ) {
+                            List<T> rest = Collections.unmodifiableList( partition );
+                            partition = new ArrayList<>( 0 );
+                            acc = next.step( acc, rest );
+                        }
+                        return next.complete( acc );
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package com.andreashefti.functional.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/** A persistent singly linked list (cons list) of double values.
+ *
+ *  This is the double specialization of FList. The values are stored unboxed within the Cons cells and
+ *  map, filter and foldLeft take double operators from java.util.function, so none of the operations
+ *  creates a Double for an element or for an intermediate result of a fold:
+ *
+ *  <pre>
+ *      double sum = DoubleList.of( 0.5, 1.5, 2.5 ).map( x -> x * x ).foldLeft( 0, ( acc, x ) -> acc + x );
+ *  </pre>
+ *
+ *  Like FList, prepend, head and tail are O(1) and all lists created from another list share the common tail.
+ */
+public abstract class DoubleList {
+
+    private static final DoubleList NIL = new Nil();
+
+    private DoubleList() {}
+
+    public abstract double head();
+    public abstract DoubleList tail();
+    public abstract boolean isEmpty();
+    public abstract int size();
+
+    /** Use this to prepend a value to this list. This is O(1) and the new list shares this list as its tail.
+     *
+     * @param value The value to prepend
+     * @return a new list with the given value as head and this list as tail
+     */
+    public DoubleList prepend( final double value ) {
+        return new Cons( value, this );
+    }
+
+    /** This is a left fold of this list with a given identity using a given operator.
+     *  It is implemented as a loop over the cons cells and neither the elements nor the accumulator are boxed.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The operator that is applied to the accumulator and each element in the list
+     * @return The result of the left side list folding with given identity and operator
+     */
+    public double foldLeft( final double identity, final DoubleBinaryOperator f ) {
+        double result = identity;
+        DoubleList list = this;
+        while ( !list.isEmpty() ) {
+            result = f.applyAsDouble( result, list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get the sum of all elements of this list.
+     *
+     * @return the sum of all elements of this list
+     */
+    public double sum() {
+        return foldLeft( 0, ( acc, x ) -> acc + x );
+    }
+
+    /** Use this to create a new reversed list from this list.
+     *
+     * @return new reversed list
+     */
+    public DoubleList reverse() {
+        DoubleList result = NIL;
+        DoubleList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** This is the map operation of DoubleList that maps each element of this list within a given operator.
+     *
+     * @param f The map operator
+     * @return a new list with the mapped elements
+     */
+    public DoubleList map( final DoubleUnaryOperator f ) {
+        DoubleList result = NIL;
+        DoubleList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( f.applyAsDouble( list.head() ) );
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to create a new list with all elements of this list that matches the given predicate.
+     *
+     * @param p The predicate
+     * @return a new list with all elements of this list that matches the given predicate
+     */
+    public DoubleList filter( final DoublePredicate p ) {
+        DoubleList result = NIL;
+        DoubleList list = this;
+        while ( !list.isEmpty() ) {
+            if ( p.test( list.head() ) ) {
+                result = result.prepend( list.head() );
+            }
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to get an array with the elements of this list.
+     *
+     * @return a new array with the elements of this list
+     */
+    public double[] toArray() {
+        double[] result = new double[ size() ];
+        DoubleList list = this;
+        for ( int i = 0; i < result.length; i++ ) {
+            result[ i ] = list.head();
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get an unboxed iterator over the elements of this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        return new PrimitiveIterator.OfDouble() {
+
+            private DoubleList current = DoubleList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public double nextDouble() {
+                if ( current.isEmpty() ) {
+                    throw new NoSuchElementException();
+                }
+                double value = current.head();
+                current = current.tail();
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public final boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof DoubleList ) ) return false;
+
+        DoubleList list1 = this;
+        DoubleList list2 = (DoubleList) o;
+        if ( list1.size() != list2.size() ) return false;
+
+        while ( !list1.isEmpty() ) {
+            if ( list1 == list2 ) return true;
+            if ( Double.compare( list1.head(), list2.head() ) != 0 ) return false;
+            list1 = list1.tail();
+            list2 = list2.tail();
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = 1;
+        DoubleList list = this;
+        while ( !list.isEmpty() ) {
+            result = 31 * result + Double.hashCode( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString( toArray() );
+    }
+
+
+    private static final class Nil extends DoubleList {
+
+        private Nil() {}
+
+        @Override public double head() { throw new IllegalStateException( "head of empty list" ); }
+        @Override public DoubleList tail() { throw new IllegalStateException( "tail of empty list" ); }
+        @Override public boolean isEmpty() { return true; }
+        @Override public int size() { return 0; }
+    }
+
+    private static final class Cons extends DoubleList {
+
+        private final double head;
+        private final DoubleList tail;
+        private final int size;
+
+        private Cons( double head, DoubleList tail ) {
+            this.head = head;
+            this.tail = tail;
+            this.size = tail.size() + 1;
+        }
+
+        @Override public double head() { return head; }
+        @Override public DoubleList tail() { return tail; }
+        @Override public boolean isEmpty() { return false; }
+        @Override public int size() { return size; }
+    }
+
+
+    /** Use this to get the empty list.
+     *
+     * @return The empty list
+     */
+    public static DoubleList empty() {
+        return NIL;
+    }
+
+    /** Use this to create a list with the given arguments as content.
+     *
+     * @param values Values of new list
+     * @return A list with the given arguments as values
+     */
+    public static DoubleList of( final double... values ) {
+        DoubleList result = NIL;
+        for ( int i = values.length - 1; i >= 0; i-- ) {
+            result = result.prepend( values[ i ] );
+        }
+        return result;
+    }
+}
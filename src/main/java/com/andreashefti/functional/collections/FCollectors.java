@@ -0,0 +1,201 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Tuple;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/** Collectors that build the collections of this package directly from a Stream.
+ *
+ *  Collecting to a List with Collectors.toList() and then calling FCollections.list or FList.from copies all
+ *  elements a second time. The collectors here gather the elements in a segmented buffer and freeze the buffer
+ *  once to the target collection in the finisher:
+ *
+ *  <pre>
+ *      FVector<Order> orders = lines.parallel().map( Order::parse ).collect( FCollectors.toFVector() );
+ *  </pre>
+ *
+ *  The buffer grows by adding new segments, so no element is copied while the stream runs, and the combiner of a
+ *  parallel stream links the segments of the right buffer to the left buffer in O(1) without copying any element.
+ *  toFMap collects into a FMap.Transient and puts the entries of the smaller map into the larger on combine.
+ */
+public abstract class FCollectors {
+
+    /** Use this to collect the elements of a stream to an immutable List.
+     *  Other then Collections.unmodifiableList( stream.collect( Collectors.toList() ) ) the elements are copied
+     *  only once, from the buffer into the array of the List.
+     *
+     * @param <T> The type of the elements
+     * @return a Collector that gives an immutable List with the elements in encounter order
+     */
+    public static <T> Collector<T, ?, List<T>> toList() {
+        return Collector.of(
+            Buffer<T>::new,
+            Buffer::add,
+            Buffer::link,
+            FCollectors::freezeList
+        );
+    }
+
+    /** Use this to collect the elements of a stream to a FList.
+     *
+     * @param <T> The type of the elements
+     * @return a Collector that gives a FList with the elements in encounter order
+     */
+    public static <T> Collector<T, ?, FList<T>> toFList() {
+        return Collector.of(
+            Buffer<T>::new,
+            Buffer::add,
+            Buffer::link,
+            FCollectors::freezeFList
+        );
+    }
+
+    /** Use this to collect the elements of a stream to a FVector. The finisher fills the leaves of a
+     *  FVector.Builder, so the trie is created once and not by path copying appends.
+     *
+     * @param <T> The type of the elements
+     * @return a Collector that gives a FVector with the elements in encounter order
+     */
+    public static <T> Collector<T, ?, FVector<T>> toFVector() {
+        return Collector.of(
+            Buffer<T>::new,
+            Buffer::add,
+            Buffer::link,
+            FCollectors::freezeFVector
+        );
+    }
+
+    /** Use this to collect the elements of a stream to a FMap. Like FMap.put, a later element replaces the
+     *  mapping of an earlier element with the same key.
+     *
+     * @param keyMapper The function that gives the key of an element
+     * @param valueMapper The function that gives the value of an element
+     * @param <T> The type of the elements
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return a Collector that gives a FMap with a mapping for each element
+     */
+    public static <T, K, V> Collector<T, ?, FMap<K, V>> toFMap( final Function<T, K> keyMapper, final Function<T, V> valueMapper ) {
+        return Collector.<T, FMap.Transient<K, V>, FMap<K, V>>of(
+            () -> FMap.<K, V>empty().asTransient(),
+            ( map, t ) -> map.put( keyMapper.apply( t ), valueMapper.apply( t ) ),
+            FCollectors::merge,
+            FMap.Transient::persistent
+        );
+    }
+
+    /* Puts the entries of the smaller Transient into the larger one. The entries of right replace those of left */
+    private static <K, V> FMap.Transient<K, V> merge( final FMap.Transient<K, V> left, final FMap.Transient<K, V> right ) {
+        if ( left.size() >= right.size() ) {
+            for ( Tuple<K, V> entry : right.persistent() ) {
+                left.put( entry.left, entry.right );
+            }
+            return left;
+        }
+        for ( Tuple<K, V> entry : left.persistent() ) {
+            if ( !right.get( entry.left ).isPresent() ) {
+                right.put( entry.left, entry.right );
+            }
+        }
+        return right;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> List<T> freezeList( final Buffer<T> buffer ) {
+        if ( buffer.size == 0 ) {
+            return Collections.emptyList();
+        }
+        Object[] array = new Object[ buffer.size ];
+        int index = 0;
+        for ( Segment segment = buffer.first; segment != null; segment = segment.next ) {
+            System.arraycopy( segment.elements, 0, array, index, segment.count );
+            index += segment.count;
+        }
+        return Collections.unmodifiableList( (List<T>) Arrays.asList( array ) );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> FList<T> freezeFList( final Buffer<T> buffer ) {
+        // the list is built from the last element to the first, so the segments are visited in reverse order
+        Segment[] segments = new Segment[ buffer.segmentCount ];
+        int count = 0;
+        for ( Segment segment = buffer.first; segment != null; segment = segment.next ) {
+            segments[ count++ ] = segment;
+        }
+        FList<T> result = FList.empty();
+        for ( int i = count - 1; i >= 0; i-- ) {
+            Segment segment = segments[ i ];
+            for ( int j = segment.count - 1; j >= 0; j-- ) {
+                result = result.prepend( (T) segment.elements[ j ] );
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> FVector<T> freezeFVector( final Buffer<T> buffer ) {
+        FVector.Builder<T> builder = FVector.builder();
+        for ( Segment segment = buffer.first; segment != null; segment = segment.next ) {
+            for ( int i = 0; i < segment.count; i++ ) {
+                builder.add( (T) segment.elements[ i ] );
+            }
+        }
+        return builder.build();
+    }
+
+    /* A growable buffer of linked segments. A full segment is never copied, the next element goes into a new
+     * segment of twice the size (up to MAX_SEGMENT_SIZE). link appends the segments of another buffer in O(1). */
+    private static final class Buffer<T> {
+
+        private static final int FIRST_SEGMENT_SIZE = 16;
+        private static final int MAX_SEGMENT_SIZE = 1 << 14;
+
+        private Segment first;
+        private Segment last;
+        private int size = 0;
+        private int segmentCount = 0;
+
+        void add( T t ) {
+            if ( last == null ) {
+                first = last = new Segment( FIRST_SEGMENT_SIZE );
+                segmentCount = 1;
+            } else if ( last.count == last.elements.length ) {
+                Segment segment = new Segment( Math.min( MAX_SEGMENT_SIZE, last.elements.length << 1 ) );
+                last.next = segment;
+                last = segment;
+                segmentCount++;
+            }
+            last.elements[ last.count++ ] = t;
+            size++;
+        }
+
+        Buffer<T> link( Buffer<T> other ) {
+            if ( other.size == 0 ) {
+                return this;
+            }
+            if ( size == 0 ) {
+                return other;
+            }
+            last.next = other.first;
+            last = other.last;
+            size += other.size;
+            segmentCount += other.segmentCount;
+            return this;
+        }
+    }
+
+    private static final class Segment {
+
+        final Object[] elements;
+        int count = 0;
+        Segment next;
+
+        Segment( int capacity ) {
+            elements = new Object[ capacity ];
+        }
+    }
+}
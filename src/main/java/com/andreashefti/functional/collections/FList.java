@@ -0,0 +1,371 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Ops.Op2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** A persistent singly linked list (cons list) with structural sharing.
+ *
+ *  An FList is either the empty list (Nil) or a Cons cell that holds a head value and a reference to
+ *  the tail list. Since FList is immutable, prepend and tail never copy anything, they just create
+ *  a new Cons cell or return the already existing tail. So prepend, head and tail are O(1) and
+ *  all lists created from another list share the common tail with it.
+ *
+ *  <pre>
+ *      FList<Integer> list1 = FList.of( 2, 3 );
+ *      FList<Integer> list2 = list1.prepend( 1 );      // [1, 2, 3] shares [2, 3] with list1
+ *      FList<Integer> list3 = list2.tail();            // the same instance as list1
+ *  </pre>
+ *
+ * @param <T> The type of the list elements
+ */
+public abstract class FList<T> implements Iterable<T> {
+
+    @SuppressWarnings( "rawtypes" )
+    private static final FList NIL = new Nil();
+
+    private FList() {}
+
+    public abstract T head();
+    public abstract FList<T> tail();
+    public abstract boolean isEmpty();
+    public abstract int size();
+
+    /** Use this to prepend a value to this list. This is O(1) and the new list shares this list as its tail.
+     *
+     * @param value The value to prepend
+     * @return a new list with the given value as head and this list as tail
+     */
+    public FList<T> prepend( final T value ) {
+        return new Cons<>( value, this );
+    }
+
+    /** This is a left fold of this list with a given identity using a given function.
+     *  It is implemented as a loop over the cons cells and can be used with lists of any length.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element in the list
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the left side list folding with given identity and function
+     */
+    public <U> U foldLeft( final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        U result = identity;
+        FList<T> list = this;
+        while ( !list.isEmpty() ) {
+            result = op.apply( result, list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** This is a right fold of this list with a given identity using a given function.
+     *  The list is first reversed and then folded from left within a loop, so this is stack save.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element in the list
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the right side list folding with given identity and function
+     */
+    public <U> U foldRight( final U identity, final Function<T, Function<U, U>> f ) {
+        Op2<T, U, U> op = Op2.from( f );
+        U result = identity;
+        FList<T> list = reverse();
+        while ( !list.isEmpty() ) {
+            result = op.apply( list.head(), result );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to create a new reversed list from this list.
+     *
+     * @return new reversed list
+     */
+    public FList<T> reverse() {
+        FList<T> result = empty();
+        FList<T> list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** This is the map operation of FList that maps each element of this list within a given function.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a new list of target typed elements
+     */
+    public <U> FList<U> map( final Function<T, U> f ) {
+        FList<U> result = empty();
+        FList<T> list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( f.apply( list.head() ) );
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to create a new list with all elements of this list that matches the given predicate.
+     *
+     * @param p The predicate
+     * @return a new list with all elements of this list that matches the given predicate
+     */
+    public FList<T> filter( final Predicate<T> p ) {
+        FList<T> result = empty();
+        FList<T> list = this;
+        while ( !list.isEmpty() ) {
+            if ( p.test( list.head() ) ) {
+                result = result.prepend( list.head() );
+            }
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to get an immutable java.util.List with the elements of this list.
+     *
+     * @return an immutable java.util.List with the elements of this list
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>( size() );
+        for ( T t : this ) {
+            result.add( t );
+        }
+        return Collections.unmodifiableList( result );
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private FList<T> current = FList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if ( current.isEmpty() ) {
+                    throw new NoSuchElementException();
+                }
+                T value = current.head();
+                current = current.tail();
+                return value;
+            }
+        };
+    }
+
+    /** Gives a SIZED, SUBSIZED, IMMUTABLE and ORDERED Spliterator over the elements of this list.
+     *  trySplit walks half of the remaining cons cells and splits off the first half as a prefix that shares the
+     *  cells with this list, so splitting copies nothing.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ListSpliterator<>( this, size() );
+    }
+
+    /** Use this to get a sequential Stream of the elements of this list.
+     *
+     * @return a sequential Stream of the elements of this list
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream( spliterator(), false );
+    }
+
+    /** Use this to get a parallel Stream of the elements of this list.
+     *
+     * @return a parallel Stream of the elements of this list
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream( spliterator(), true );
+    }
+
+    @Override
+    public final boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof FList ) ) return false;
+
+        FList<?> list1 = this;
+        FList<?> list2 = (FList<?>) o;
+        if ( list1.size() != list2.size() ) return false;
+
+        while ( !list1.isEmpty() ) {
+            if ( list1 == list2 ) return true;
+            Object h1 = list1.head();
+            Object h2 = list2.head();
+            if ( h1 != null ? !h1.equals( h2 ) : h2 != null ) return false;
+            list1 = list1.tail();
+            list2 = list2.tail();
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = 1;
+        for ( T t : this ) {
+            result = 31 * result + ( t != null ? t.hashCode() : 0 );
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "[" );
+        FList<T> list = this;
+        while ( !list.isEmpty() ) {
+            sb.append( list.head() );
+            list = list.tail();
+            if ( !list.isEmpty() ) {
+                sb.append( ", " );
+            }
+        }
+        return sb.append( "]" ).toString();
+    }
+
+
+    private static final class Nil<T> extends FList<T> {
+
+        private Nil() {}
+
+        @Override public T head() { throw new IllegalStateException( "head of empty list" ); }
+        @Override public FList<T> tail() { throw new IllegalStateException( "tail of empty list" ); }
+        @Override public boolean isEmpty() { return true; }
+        @Override public int size() { return 0; }
+    }
+
+    private static final class Cons<T> extends FList<T> {
+
+        private final T head;
+        private final FList<T> tail;
+        private final int size;
+
+        private Cons( T head, FList<T> tail ) {
+            this.head = head;
+            this.tail = tail;
+            this.size = tail.size() + 1;
+        }
+
+        @Override public T head() { return head; }
+        @Override public FList<T> tail() { return tail; }
+        @Override public boolean isEmpty() { return false; }
+        @Override public int size() { return size; }
+    }
+
+
+    private static final class ListSpliterator<T> implements Spliterator<T> {
+
+        private static final int MIN_SPLIT_SIZE = 1024;
+
+        private FList<T> current;
+        private int remaining;
+
+        private ListSpliterator( FList<T> current, int remaining ) {
+            this.current = current;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super T> action ) {
+            if ( remaining <= 0 ) {
+                return false;
+            }
+            action.accept( current.head() );
+            current = current.tail();
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super T> action ) {
+            FList<T> list = current;
+            for ( int i = 0; i < remaining; i++ ) {
+                action.accept( list.head() );
+                list = list.tail();
+            }
+            current = list;
+            remaining = 0;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if ( remaining < MIN_SPLIT_SIZE ) {
+                return null;
+            }
+            int half = remaining / 2;
+            ListSpliterator<T> prefix = new ListSpliterator<>( current, half );
+            for ( int i = 0; i < half; i++ ) {
+                current = current.tail();
+            }
+            remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | IMMUTABLE | ORDERED;
+        }
+    }
+
+
+    /** Use this to get the empty list of specified type.
+     *
+     * @param <T> The type of the list
+     * @return The empty list
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> FList<T> empty() {
+        return NIL;
+    }
+
+    /** Use this to create a list of specified type with the given arguments as content.
+     *
+     * @param values Values of new list
+     * @param <T> The type of the list
+     * @return A list with the given arguments as values
+     */
+    @SafeVarargs
+    public static <T> FList<T> of( final T... values ) {
+        FList<T> result = empty();
+        for ( int i = values.length - 1; i >= 0; i-- ) {
+            result = result.prepend( values[ i ] );
+        }
+        return result;
+    }
+
+    /** Use this to create a list of specified type from a given java.util.List of the same type.
+     *
+     * @param list The source List
+     * @param <T> The type of the list
+     * @return A list with the values of the given List in the same order
+     */
+    public static <T> FList<T> from( final List<T> list ) {
+        FList<T> result = empty();
+        ListIterator<T> it = list.listIterator( list.size() );
+        while ( it.hasPrevious() ) {
+            result = result.prepend( it.previous() );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,629 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Ops.Op2;
+import com.andreashefti.functional.Result;
+import com.andreashefti.functional.Tuple;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/** A persistent hash map implemented as a hash array mapped trie (HAMT).
+ *
+ *  The hash of a key is consumed in chunks of 5 bits, one chunk per trie level. Each node holds a 32 bit bitmap
+ *  that marks the used slots and a compact array with only the used slots, where a slot is either an entry,
+ *  stored as a Tuple of key and value, or a sub node. Keys with the same full hash are kept in a collision node.
+ *  An update copies only the path from the root to the changed slot and shares all other nodes with the
+ *  original map. So get, put and remove are O(log32 n) and the original map stays valid.
+ *
+ *  For bulk loads use a Transient. A Transient mutates the nodes it has created itself in place and
+ *  persistent() freezes it in O(1) to a new FMap:
+ *
+ *  <pre>
+ *      FMap.Transient<String, Integer> t = FMap.<String, Integer>empty().asTransient();
+ *      for ( ... ) {
+ *          t.put( key, value );
+ *      }
+ *      FMap<String, Integer> map = t.persistent();
+ *  </pre>
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public final class FMap<K, V> implements Iterable<Tuple<K, V>> {
+
+    private static final int BITS = 5;
+    private static final int MASK = ( 1 << BITS ) - 1;
+
+    @SuppressWarnings( "rawtypes" )
+    private static final FMap EMPTY = new FMap( 0, null );
+
+    private final int size;
+    private final Node root;
+
+    private FMap( int size, Node root ) {
+        this.size = size;
+        this.root = root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Use this to get the value that is mapped to the given key.
+     *
+     * @param key The key
+     * @return a Success with the mapped value or an Empty Result if there is no mapping for the given key
+     */
+    public Result<V> get( final K key ) {
+        Tuple<K, V> entry = find( root, key );
+        return entry != null ? Result.success( entry.right ) : Result.empty();
+    }
+
+    /** Use this to get the value that is mapped to the given key or the given default value if there is no mapping.
+     *
+     * @param key The key
+     * @param defaultValue The value to return if there is no mapping for the given key
+     * @return the mapped value or the given default value
+     */
+    public V getOrElse( final K key, final V defaultValue ) {
+        Tuple<K, V> entry = find( root, key );
+        return entry != null ? entry.right : defaultValue;
+    }
+
+    public boolean containsKey( final K key ) {
+        return find( root, key ) != null;
+    }
+
+    /** Use this to map the given value to the given key.
+     *
+     * @param key The key
+     * @param value The value
+     * @return a new map with all mappings of this map and the given mapping
+     */
+    public FMap<K, V> put( final K key, final V value ) {
+        Box box = new Box();
+        Node newRoot = ( root == null ? BitmapNode.EMPTY : root )
+            .put( null, 0, hash( key ), new Tuple<>( key, value ), box );
+        if ( newRoot == root ) {
+            return this;
+        }
+        return new FMap<>( box.changed ? size + 1 : size, newRoot );
+    }
+
+    /** Use this to remove the mapping of the given key.
+     *
+     * @param key The key
+     * @return a new map with all mappings of this map except the one of the given key
+     */
+    public FMap<K, V> remove( final K key ) {
+        if ( root == null ) {
+            return this;
+        }
+        Box box = new Box();
+        Node newRoot = root.remove( null, 0, hash( key ), key, box );
+        if ( !box.changed ) {
+            return this;
+        }
+        return new FMap<>( size - 1, newRoot );
+    }
+
+    /** Use this to get a Transient, a mutable version of this map, for bulk updates.
+     *  This map is not changed by the Transient.
+     *
+     * @return a Transient with the mappings of this map
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>( size, root );
+    }
+
+    /** This is a left fold over all entries of this map. The order of the entries is not specified.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each entry of the map
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the folding with given identity and function
+     */
+    public <U> U foldLeft( final U identity, final Function<U, Function<Tuple<K, V>, U>> f ) {
+        Op2<U, Tuple<K, V>, U> op = Op2.from( f );
+        U result = identity;
+        for ( Tuple<K, V> entry : this ) {
+            result = op.apply( result, entry );
+        }
+        return result;
+    }
+
+    /** Use this to get an immutable java.util.Map with the mappings of this map.
+     *
+     * @return an immutable java.util.Map with the mappings of this map
+     */
+    public Map<K, V> toMap() {
+        Map<K, V> result = new HashMap<>();
+        for ( Tuple<K, V> entry : this ) {
+            result.put( entry.left, entry.right );
+        }
+        return Collections.unmodifiableMap( result );
+    }
+
+    @Override
+    public Iterator<Tuple<K, V>> iterator() {
+        return new EntryIterator<>( root );
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof FMap ) ) return false;
+
+        FMap<?, ?> other = (FMap<?, ?>) o;
+        if ( size != other.size ) return false;
+
+        for ( Tuple<K, V> entry : this ) {
+            Tuple<?, ?> otherEntry = find( other.root, entry.left );
+            if ( otherEntry == null || !Objects.equals( entry.right, otherEntry.right ) ) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for ( Tuple<K, V> entry : this ) {
+            result += entry.hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "{" );
+        Iterator<Tuple<K, V>> it = iterator();
+        while ( it.hasNext() ) {
+            Tuple<K, V> entry = it.next();
+            sb.append( entry.left ).append( "=" ).append( entry.right );
+            if ( it.hasNext() ) {
+                sb.append( ", " );
+            }
+        }
+        return sb.append( "}" ).toString();
+    }
+
+
+    /** A mutable version of a FMap for bulk updates. The nodes created by a Transient are mutated in place
+     *  by the following updates of the same Transient, all other nodes are copied on write as in FMap.
+     *  A Transient is not thread save and can not be used anymore after persistent() was called.
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     */
+    public static final class Transient<K, V> {
+
+        private final Edit edit = new Edit();
+        private final Box box = new Box();
+
+        private int size;
+        private Node root;
+
+        private Transient( int size, Node root ) {
+            this.size = size;
+            this.root = root;
+        }
+
+        public int size() {
+            ensureActive();
+            return size;
+        }
+
+        public Result<V> get( final K key ) {
+            ensureActive();
+            Tuple<K, V> entry = find( root, key );
+            return entry != null ? Result.success( entry.right ) : Result.empty();
+        }
+
+        public Transient<K, V> put( final K key, final V value ) {
+            ensureActive();
+            box.changed = false;
+            root = ( root == null ? BitmapNode.EMPTY : root )
+                .put( edit, 0, hash( key ), new Tuple<>( key, value ), box );
+            if ( box.changed ) {
+                size++;
+            }
+            return this;
+        }
+
+        public Transient<K, V> remove( final K key ) {
+            ensureActive();
+            if ( root == null ) {
+                return this;
+            }
+            box.changed = false;
+            root = root.remove( edit, 0, hash( key ), key, box );
+            if ( box.changed ) {
+                size--;
+            }
+            return this;
+        }
+
+        /** Use this to freeze this Transient to a persistent FMap. This is O(1).
+         *
+         * @return a FMap with all mappings of this Transient
+         * @throws IllegalStateException If persistent() was already called on this Transient
+         */
+        public FMap<K, V> persistent() {
+            ensureActive();
+            edit.active = false;
+            return size == 0 ? empty() : new FMap<>( size, root );
+        }
+
+        private void ensureActive() {
+            if ( !edit.active ) {
+                throw new IllegalStateException( "Transient used after persistent() call" );
+            }
+        }
+    }
+
+
+    /* The owner token of a Transient. Only nodes that are created with the token of an active Transient can be mutated */
+    private static final class Edit {
+        volatile boolean active = true;
+    }
+
+    /* Reports whether an entry was added or removed */
+    private static final class Box {
+        boolean changed;
+    }
+
+    private static abstract class Node {
+
+        final Edit edit;
+
+        Node( Edit edit ) {
+            this.edit = edit;
+        }
+
+        boolean isEditable( Edit edit ) {
+            return edit != null && this.edit == edit;
+        }
+
+        abstract Tuple<?, ?> find( int shift, int hash, Object key );
+        abstract Node put( Edit edit, int shift, int hash, Tuple<?, ?> entry, Box addedEntry );
+        abstract Node remove( Edit edit, int shift, int hash, Object key, Box removedEntry );
+
+        /* The slots of this node where a slot is either a Tuple entry or a sub node */
+        abstract Object[] slots();
+    }
+
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode( null, 0, new Object[ 0 ] );
+
+        int bitmap;
+        Object[] slots;
+
+        BitmapNode( Edit edit, int bitmap, Object[] slots ) {
+            super( edit );
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        Tuple<?, ?> find( int shift, int hash, Object key ) {
+            int bit = bitpos( hash, shift );
+            if ( ( bitmap & bit ) == 0 ) {
+                return null;
+            }
+            Object slot = slots[ index( bit ) ];
+            if ( slot instanceof Node ) {
+                return ( (Node) slot ).find( shift + BITS, hash, key );
+            }
+            Tuple<?, ?> entry = (Tuple<?, ?>) slot;
+            return Objects.equals( key, entry.left ) ? entry : null;
+        }
+
+        @Override
+        Node put( Edit edit, int shift, int hash, Tuple<?, ?> entry, Box addedEntry ) {
+            int bit = bitpos( hash, shift );
+            int index = index( bit );
+
+            if ( ( bitmap & bit ) == 0 ) {
+                addedEntry.changed = true;
+                Object[] newSlots = new Object[ slots.length + 1 ];
+                System.arraycopy( slots, 0, newSlots, 0, index );
+                newSlots[ index ] = entry;
+                System.arraycopy( slots, index, newSlots, index + 1, slots.length - index );
+                if ( isEditable( edit ) ) {
+                    bitmap |= bit;
+                    slots = newSlots;
+                    return this;
+                }
+                return new BitmapNode( edit, bitmap | bit, newSlots );
+            }
+
+            Object slot = slots[ index ];
+            if ( slot instanceof Node ) {
+                Node node = ( (Node) slot ).put( edit, shift + BITS, hash, entry, addedEntry );
+                return node == slot ? this : editAndSet( edit, index, node );
+            }
+
+            Tuple<?, ?> current = (Tuple<?, ?>) slot;
+            if ( Objects.equals( entry.left, current.left ) ) {
+                return current.right == entry.right ? this : editAndSet( edit, index, entry );
+            }
+
+            addedEntry.changed = true;
+            return editAndSet( edit, index, createNode( edit, shift + BITS, current, hash, entry ) );
+        }
+
+        @Override
+        Node remove( Edit edit, int shift, int hash, Object key, Box removedEntry ) {
+            int bit = bitpos( hash, shift );
+            if ( ( bitmap & bit ) == 0 ) {
+                return this;
+            }
+            int index = index( bit );
+            Object slot = slots[ index ];
+
+            if ( slot instanceof Node ) {
+                Node node = ( (Node) slot ).remove( edit, shift + BITS, hash, key, removedEntry );
+                if ( node == slot ) {
+                    return this;
+                }
+                if ( node != null ) {
+                    return editAndSet( edit, index, node );
+                }
+            } else if ( Objects.equals( key, ( (Tuple<?, ?>) slot ).left ) ) {
+                removedEntry.changed = true;
+            } else {
+                return this;
+            }
+
+            if ( bitmap == bit ) {
+                return null;
+            }
+            Object[] newSlots = new Object[ slots.length - 1 ];
+            System.arraycopy( slots, 0, newSlots, 0, index );
+            System.arraycopy( slots, index + 1, newSlots, index, slots.length - index - 1 );
+            if ( isEditable( edit ) ) {
+                bitmap ^= bit;
+                slots = newSlots;
+                return this;
+            }
+            return new BitmapNode( edit, bitmap ^ bit, newSlots );
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+
+        private BitmapNode editAndSet( Edit edit, int index, Object slot ) {
+            if ( isEditable( edit ) ) {
+                slots[ index ] = slot;
+                return this;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[ index ] = slot;
+            return new BitmapNode( edit, bitmap, newSlots );
+        }
+
+        private int index( int bit ) {
+            return Integer.bitCount( bitmap & ( bit - 1 ) );
+        }
+
+        private static Node createNode( Edit edit, int shift, Tuple<?, ?> entry1, int hash2, Tuple<?, ?> entry2 ) {
+            int hash1 = hash( entry1.left );
+            if ( hash1 == hash2 ) {
+                return new CollisionNode( edit, hash1, new Object[] { entry1, entry2 } );
+            }
+            Box box = new Box();
+            return EMPTY
+                .put( edit, shift, hash1, entry1, box )
+                .put( edit, shift, hash2, entry2, box );
+        }
+
+        private static int bitpos( int hash, int shift ) {
+            return 1 << ( ( hash >>> shift ) & MASK );
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+
+        final int hash;
+        Object[] entries;
+
+        CollisionNode( Edit edit, int hash, Object[] entries ) {
+            super( edit );
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        Tuple<?, ?> find( int shift, int hash, Object key ) {
+            int index = indexOf( key );
+            return index < 0 ? null : (Tuple<?, ?>) entries[ index ];
+        }
+
+        @Override
+        Node put( Edit edit, int shift, int hash, Tuple<?, ?> entry, Box addedEntry ) {
+            if ( hash != this.hash ) {
+                // nest this node within a bitmap node and put the entry there
+                return new BitmapNode( edit, BitmapNode.bitpos( this.hash, shift ), new Object[] { this } )
+                    .put( edit, shift, hash, entry, addedEntry );
+            }
+
+            Object[] newEntries;
+            int index = indexOf( entry.left );
+            if ( index >= 0 ) {
+                if ( ( (Tuple<?, ?>) entries[ index ] ).right == entry.right ) {
+                    return this;
+                }
+                newEntries = entries.clone();
+                newEntries[ index ] = entry;
+            } else {
+                addedEntry.changed = true;
+                newEntries = new Object[ entries.length + 1 ];
+                System.arraycopy( entries, 0, newEntries, 0, entries.length );
+                newEntries[ entries.length ] = entry;
+            }
+
+            if ( isEditable( edit ) ) {
+                entries = newEntries;
+                return this;
+            }
+            return new CollisionNode( edit, hash, newEntries );
+        }
+
+        @Override
+        Node remove( Edit edit, int shift, int hash, Object key, Box removedEntry ) {
+            int index = indexOf( key );
+            if ( index < 0 ) {
+                return this;
+            }
+            removedEntry.changed = true;
+            if ( entries.length == 1 ) {
+                return null;
+            }
+
+            Object[] newEntries = new Object[ entries.length - 1 ];
+            System.arraycopy( entries, 0, newEntries, 0, index );
+            System.arraycopy( entries, index + 1, newEntries, index, entries.length - index - 1 );
+            if ( isEditable( edit ) ) {
+                entries = newEntries;
+                return this;
+            }
+            return new CollisionNode( edit, hash, newEntries );
+        }
+
+        @Override
+        Object[] slots() {
+            return entries;
+        }
+
+        private int indexOf( Object key ) {
+            for ( int i = 0; i < entries.length; i++ ) {
+                if ( Objects.equals( key, ( (Tuple<?, ?>) entries[ i ] ).left ) ) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /* Iterates the entries in trie order with an explicit stack, the trie is never deeper than 8 levels */
+    private static final class EntryIterator<K, V> implements Iterator<Tuple<K, V>> {
+
+        private final Object[][] stack = new Object[ 8 ][];
+        private final int[] positions = new int[ 8 ];
+        private int depth = -1;
+        private Tuple<K, V> next;
+
+        EntryIterator( Node root ) {
+            if ( root != null ) {
+                push( root );
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Tuple<K, V> next() {
+            if ( next == null ) {
+                throw new NoSuchElementException();
+            }
+            Tuple<K, V> result = next;
+            advance();
+            return result;
+        }
+
+        private void push( Node node ) {
+            depth++;
+            stack[ depth ] = node.slots();
+            positions[ depth ] = 0;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        private void advance() {
+            next = null;
+            while ( depth >= 0 ) {
+                Object[] slots = stack[ depth ];
+                if ( positions[ depth ] >= slots.length ) {
+                    stack[ depth ] = null;
+                    depth--;
+                    continue;
+                }
+                Object slot = slots[ positions[ depth ]++ ];
+                if ( slot instanceof Node ) {
+                    push( (Node) slot );
+                } else {
+                    next = (Tuple<K, V>) slot;
+                    return;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <K, V> Tuple<K, V> find( Node root, Object key ) {
+        return root == null ? null : (Tuple<K, V>) root.find( 0, hash( key ), key );
+    }
+
+    private static int hash( Object key ) {
+        int h = Objects.hashCode( key );
+        return h ^ ( h >>> 16 );
+    }
+
+
+    /** Use this to get the empty map of specified types.
+     *
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return The empty map
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <K, V> FMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    /** Use this to create a map with the given entries as mappings.
+     *
+     * @param entries The entries (Tuple of key and value) of the new map
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return A map with the given entries as mappings
+     */
+    @SafeVarargs
+    public static <K, V> FMap<K, V> of( final Tuple<K, V>... entries ) {
+        Transient<K, V> result = FMap.<K, V>empty().asTransient();
+        for ( Tuple<K, V> entry : entries ) {
+            result.put( entry.left, entry.right );
+        }
+        return result.persistent();
+    }
+
+    /** Use this to create a map with the mappings of a given java.util.Map.
+     *
+     * @param map The source map
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @return A map with the mappings of the given java.util.Map
+     */
+    public static <K, V> FMap<K, V> from( final Map<K, V> map ) {
+        Transient<K, V> result = FMap.<K, V>empty().asTransient();
+        for ( Map.Entry<K, V> entry : map.entrySet() ) {
+            result.put( entry.getKey(), entry.getValue() );
+        }
+        return result.persistent();
+    }
+}
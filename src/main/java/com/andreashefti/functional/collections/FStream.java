@@ -0,0 +1,369 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Ops.Op2;
+import com.andreashefti.functional.Result;
+import com.andreashefti.functional.Tuple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/** An immutable lazy stream (a lazy cons list).
+ *
+ *  Other then FList, the head and the tail of a FStream are not evaluated before they are needed. Both are hold
+ *  as memoized thunks, so each one is evaluated at most once, also if the stream is traversed more then once.
+ *  This makes it possible to define infinite streams by corecursion with iterate and unfold, and to process
+ *  them with take, drop, map and filter without evaluating more elements then needed:
+ *
+ *  <pre>
+ *      FStream<Integer> naturals = FStream.iterate( 0, i -> i + 1 );
+ *      int sum = naturals.filter( i -> i % 2 == 0 ).take( 1000 ).foldLeft( 0, s -> i -> s + i );
+ *  </pre>
+ *
+ *  map, filter, take and takeWhile are lazy and only create the first cell of the new stream. drop, dropWhile,
+ *  the search for the next match in filter and all terminal operations like foldLeft are loops, so none of the
+ *  operations uses the call stack in proportion to the length of the stream. Since the evaluated cells of a stream
+ *  are memoized, a stream that is longer then the memory allows can only be processed if nothing holds its head.
+ *  Iterating over it with a for-each loop or folding it with the static foldLeft, which gets the stream from a
+ *  Supplier, runs in constant memory:
+ *
+ *  <pre>
+ *      long sum = FStream.foldLeft( () -> FStream.iterate( 0L, i -> i + 1 ).take( 100_000_000 ), 0L, s -> i -> s + i );
+ *  </pre>
+ *
+ * @param <T> The type of the stream elements
+ */
+public abstract class FStream<T> implements Iterable<T> {
+
+    @SuppressWarnings( "rawtypes" )
+    private static final FStream EMPTY = new Empty();
+
+    private FStream() {}
+
+    public abstract T head();
+    public abstract FStream<T> tail();
+    public abstract boolean isEmpty();
+
+    /** Use this to get a stream with the first n elements of this stream. This is lazy.
+     *
+     * @param n The number of elements to take
+     * @return a stream with the first n elements of this stream
+     */
+    public FStream<T> take( final int n ) {
+        return n <= 0 || isEmpty() ?
+                   empty() :
+                   new Cons<>( this::head, () -> tail().take( n - 1 ) );
+    }
+
+    /** Use this to get a stream with the first elements of this stream as long as they match the given predicate.
+     *  This is lazy except for the evaluation of the first element.
+     *
+     * @param p The predicate
+     * @return a stream with the first elements of this stream that matches the given predicate
+     */
+    public FStream<T> takeWhile( final Predicate<T> p ) {
+        return isEmpty() || !p.test( head() ) ?
+                   empty() :
+                   new Cons<>( this::head, () -> tail().takeWhile( p ) );
+    }
+
+    /** Use this to get the stream without the first n elements of this stream.
+     *
+     * @param n The number of elements to drop
+     * @return the stream without the first n elements of this stream
+     */
+    public FStream<T> drop( final int n ) {
+        FStream<T> stream = this;
+        for ( int i = 0; i < n && !stream.isEmpty(); i++ ) {
+            stream = stream.tail();
+        }
+        return stream;
+    }
+
+    /** Use this to get the stream without the first elements of this stream that matches the given predicate.
+     *
+     * @param p The predicate
+     * @return the stream starting with the first element that not matches the given predicate
+     */
+    public FStream<T> dropWhile( final Predicate<T> p ) {
+        FStream<T> stream = this;
+        while ( !stream.isEmpty() && p.test( stream.head() ) ) {
+            stream = stream.tail();
+        }
+        return stream;
+    }
+
+    /** This is the map operation of FStream. This is lazy, an element is mapped when it is needed.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a stream with the mapped elements of this stream
+     */
+    public <U> FStream<U> map( final Function<T, U> f ) {
+        return isEmpty() ?
+                   empty() :
+                   new Cons<>( () -> f.apply( head() ), () -> tail().map( f ) );
+    }
+
+    /** Use this to get a stream with all elements of this stream that matches the given predicate.
+     *  The stream is evaluated up to the first matching element, the rest is lazy.
+     *
+     * @param p The predicate
+     * @return a stream with all elements of this stream that matches the given predicate
+     */
+    public FStream<T> filter( final Predicate<T> p ) {
+        FStream<T> stream = dropWhile( p.negate() );
+        return stream.isEmpty() ?
+                   empty() :
+                   new Cons<>( stream::head, () -> stream.tail().filter( p ) );
+    }
+
+    /* The frame of an instance method holds this, so the terminal operations below keep the head reachable while
+     * they are interpreted. They have their own loop and never pass this to another method, so once the JIT
+     * compiles the loop (on stack replacement) the cells before the current one can be collected anyway. Only the
+     * static foldLeft and the iterator never hold the head, whatever the JVM does. */
+
+    /** This is a left fold of this stream with a given identity using a given function.
+     *  This evaluates the whole stream and never returns for an infinite stream.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element in the stream
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the left side folding with given identity and function
+     */
+    public <U> U foldLeft( final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        U result = identity;
+        for ( FStream<T> stream = this; !stream.isEmpty(); stream = stream.tail() ) {
+            result = op.apply( result, stream.head() );
+        }
+        return result;
+    }
+
+    /** Use this to get an evaluated FList with all elements of this stream.
+     *
+     * @return a FList with all elements of this stream
+     */
+    public FList<T> toFList() {
+        FList<T> reversed = FList.empty();
+        for ( FStream<T> stream = this; !stream.isEmpty(); stream = stream.tail() ) {
+            reversed = reversed.prepend( stream.head() );
+        }
+        return reversed.reverse();
+    }
+
+    /** Use this to get an evaluated immutable java.util.List with all elements of this stream.
+     *
+     * @return an immutable java.util.List with all elements of this stream
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        for ( FStream<T> stream = this; !stream.isEmpty(); stream = stream.tail() ) {
+            result.add( stream.head() );
+        }
+        return Collections.unmodifiableList( result );
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new StreamIterator<>( this );
+    }
+
+
+    private static final class Empty<T> extends FStream<T> {
+
+        private Empty() {}
+
+        @Override public T head() { throw new IllegalStateException( "head of empty stream" ); }
+        @Override public FStream<T> tail() { throw new IllegalStateException( "tail of empty stream" ); }
+        @Override public boolean isEmpty() { return true; }
+
+        @Override
+        public String toString() {
+            return "FStream{}";
+        }
+    }
+
+    private static final class Cons<T> extends FStream<T> {
+
+        private final Lazy<T> head;
+        private final Lazy<FStream<T>> tail;
+
+        private Cons( Supplier<T> head, Supplier<FStream<T>> tail ) {
+            this.head = new Lazy<>( head );
+            this.tail = new Lazy<>( tail );
+        }
+
+        @Override public T head() { return head.get(); }
+        @Override public FStream<T> tail() { return tail.get(); }
+        @Override public boolean isEmpty() { return false; }
+
+        @Override
+        public String toString() {
+            return "FStream{head=" + ( head.isEvaluated() ? head.get() : "?" ) + ", ...}";
+        }
+    }
+
+    /* A memoized thunk. The supplier is called at most once and released after it was called. */
+    private static final class Lazy<T> implements Supplier<T> {
+
+        private volatile Supplier<T> supplier;
+        private T value;
+
+        private Lazy( Supplier<T> supplier ) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public T get() {
+            if ( supplier != null ) {
+                synchronized ( this ) {
+                    Supplier<T> s = supplier;
+                    if ( s != null ) {
+                        value = s.get();
+                        supplier = null;
+                    }
+                }
+            }
+            return value;
+        }
+
+        boolean isEvaluated() {
+            return supplier == null;
+        }
+    }
+
+    /* Holds only the current cell, so the cells before it can be collected */
+    private static final class StreamIterator<T> implements Iterator<T> {
+
+        private FStream<T> current;
+
+        private StreamIterator( FStream<T> current ) {
+            this.current = current;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !current.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if ( current.isEmpty() ) {
+                throw new NoSuchElementException();
+            }
+            T value = current.head();
+            current = current.tail();
+            return value;
+        }
+    }
+
+
+    /** Use this to get the empty stream of specified type.
+     *
+     * @param <T> The type of the stream
+     * @return The empty stream
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> FStream<T> empty() {
+        return EMPTY;
+    }
+
+    /** Use this to create a stream with a lazy head and a lazy tail.
+     *
+     * @param head The supplier of the head of the stream
+     * @param tail The supplier of the tail of the stream
+     * @param <T> The type of the stream
+     * @return a new stream with the given head and tail
+     */
+    public static <T> FStream<T> cons( final Supplier<T> head, final Supplier<FStream<T>> tail ) {
+        return new Cons<>( head, tail );
+    }
+
+    /** This is a left fold of the stream given by the supplier, that never holds a reference to the head of the
+     *  stream. The evaluated cells can be collected while the fold runs, so it runs in constant memory as long as
+     *  the supplier creates the stream and does not return a stream that is referenced elsewhere.
+     *
+     * @param stream The supplier of the stream to fold
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element in the stream
+     * @param <T> The type of the stream
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the left side folding with given identity and function
+     */
+    public static <T, U> U foldLeft( final Supplier<FStream<T>> stream, final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        U result = identity;
+        // the only reference to the current cell is the loop variable
+        for ( FStream<T> current = stream.get(); !current.isEmpty(); current = current.tail() ) {
+            result = op.apply( result, current.head() );
+        }
+        return result;
+    }
+
+    @SafeVarargs
+    public static <T> FStream<T> of( final T... values ) {
+        // the elements are copied, since they are read lazily and the caller may change the array
+        Object[] elements = new Object[ values.length ];
+        for ( int i = 0; i < values.length; i++ ) {
+            elements[ i ] = values[ i ];
+        }
+        return of( 0, elements );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> FStream<T> of( final int index, final Object[] values ) {
+        return index >= values.length ?
+                   empty() :
+                   new Cons<>( () -> (T) values[ index ], () -> of( index + 1, values ) );
+    }
+
+    /** Use this to create an infinite stream by corecursion, where each element is the result of the given
+     *  function applied to the previous element.
+     *
+     * @param seed The first element of the stream
+     * @param f The function that gives the next element from an element
+     * @param <T> The type of the stream
+     * @return an infinite stream of seed, f(seed), f(f(seed)), ...
+     */
+    public static <T> FStream<T> iterate( final T seed, final Function<T, T> f ) {
+        return new Cons<>( () -> seed, () -> iterate( f.apply( seed ), f ) );
+    }
+
+    /** Use this to create a stream by corecursion from a state. The given function gives for a state
+     *  a Tuple of the next element and the next state, or an Empty (or Failure) Result to end the stream.
+     *
+     *  <pre>
+     *      // the fibonacci numbers
+     *      FStream<Long> fibonacci = FStream.unfold( new Tuple<>( 0L, 1L ),
+     *          s -> Result.success( new Tuple<>( s.left, new Tuple<>( s.right, s.left + s.right ) ) ) );
+     *  </pre>
+     *
+     * @param state The initial state
+     * @param f The function that gives the next element and the next state
+     * @param <T> The type of the stream
+     * @param <S> The type of the state
+     * @return a stream of the elements given by f
+     */
+    public static <T, S> FStream<T> unfold( final S state, final Function<S, Result<Tuple<T, S>>> f ) {
+        Result<Tuple<T, S>> next = f.apply( state );
+        return next.isPresent() ?
+                   new Cons<>( () -> next.get().left, () -> unfold( next.get().right, f ) ) :
+                   empty();
+    }
+
+    /** Use this to create a lazy stream of all Integers from start (inclusive) to end (exclusive).
+     *
+     * @param start The first value of the range
+     * @param end The value after the last value of the range
+     * @return a lazy stream of all Integers from start (inclusive) to end (exclusive)
+     */
+    public static FStream<Integer> range( final int start, final int end ) {
+        return unfold( start, i -> i < end ? Result.success( new Tuple<>( i, i + 1 ) ) : Result.empty() );
+    }
+}
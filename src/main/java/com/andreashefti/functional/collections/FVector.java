@@ -0,0 +1,500 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Ops.Op2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/** A persistent vector implemented as a bit-partitioned trie with a branching factor of 32 and a tail buffer.
+ *
+ *  The elements are stored in leaf arrays of 32 elements that are hold by a tree of 32-way branching nodes.
+ *  The last (not yet full) leaf is kept separate as the tail. Appending to the vector only copies the tail
+ *  and only every 32th append pushes the full tail into the tree, copying just the path from the root to
+ *  the new leaf. get, set and append are therefore O(log32 n) which is effectively constant time
+ *  (a vector of one million elements has a tree depth of four).
+ *
+ *  Since no node is ever mutated, a vector created from another vector shares all untouched nodes with it
+ *  and the older version stays valid.
+ *
+ *  <pre>
+ *      FVector<Integer> v1 = FVector.of( 1, 2, 3 );
+ *      FVector<Integer> v2 = v1.append( 4 );     // [1, 2, 3, 4]
+ *      FVector<Integer> v3 = v2.set( 0, 0 );     // [0, 2, 3, 4] and v2 is still [1, 2, 3, 4]
+ *  </pre>
+ *
+ *  For bulk loads use a Builder that fills the leaves in place and creates the trie once in build().
+ *
+ * @param <T> The type of the vector elements
+ */
+public final class FVector<T> implements Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[ WIDTH ];
+
+    @SuppressWarnings( "rawtypes" )
+    private static final FVector EMPTY = new FVector( 0, BITS, EMPTY_NODE, new Object[ 0 ] );
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private FVector( int size, int shift, Object[] root, Object[] tail ) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Use this to get the element at the given index.
+     *
+     * @param index The index of the element
+     * @return the element at the given index
+     * @throws IndexOutOfBoundsException If the index is negative or not smaller then the size of the vector
+     */
+    @SuppressWarnings( "unchecked" )
+    public T get( final int index ) {
+        return (T) leafFor( index )[ index & MASK ];
+    }
+
+    /** Use this to append a value to this vector.
+     *
+     * @param value The value to append
+     * @return a new vector with all elements of this vector and the given value appended
+     */
+    public FVector<T> append( final T value ) {
+        if ( size - tailOffset() < WIDTH ) {
+            Object[] newTail = Arrays.copyOf( tail, tail.length + 1 );
+            newTail[ tail.length ] = value;
+            return new FVector<>( size + 1, shift, root, newTail );
+        }
+
+        // the tail is full, push it into the tree
+        Object[] newRoot;
+        int newShift = shift;
+        if ( ( size >>> BITS ) > ( 1 << shift ) ) {
+            // no room in the tree left, add a new root level
+            newRoot = new Object[ WIDTH ];
+            newRoot[ 0 ] = root;
+            newRoot[ 1 ] = newPath( shift, tail );
+            newShift += BITS;
+        } else {
+            newRoot = pushTail( shift, root, tail );
+        }
+        return new FVector<>( size + 1, newShift, newRoot, new Object[] { value } );
+    }
+
+    /** Use this to replace the element at the given index.
+     *  If index is equal to the size of this vector the value is appended.
+     *
+     * @param index The index of the element to replace
+     * @param value The new value
+     * @return a new vector with the given value on the given index
+     * @throws IndexOutOfBoundsException If the index is negative or greater then the size of the vector
+     */
+    public FVector<T> set( final int index, final T value ) {
+        if ( index == size ) {
+            return append( value );
+        }
+        checkIndex( index );
+
+        if ( index >= tailOffset() ) {
+            Object[] newTail = tail.clone();
+            newTail[ index & MASK ] = value;
+            return new FVector<>( size, shift, root, newTail );
+        }
+        return new FVector<>( size, shift, set( shift, root, index, value ), tail );
+    }
+
+    /** This is a left fold of this vector with a given identity using a given function.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element in the vector
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the left side folding with given identity and function
+     */
+    @SuppressWarnings( "unchecked" )
+    public <U> U foldLeft( final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        U result = identity;
+        for ( int i = 0; i < size; i += WIDTH ) {
+            Object[] leaf = leafFor( i );
+            for ( int j = 0; j < WIDTH && i + j < size; j++ ) {
+                result = op.apply( result, (T) leaf[ j ] );
+            }
+        }
+        return result;
+    }
+
+    /** This is the map operation of FVector that maps each element of this vector within a given function.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a new vector of target typed elements
+     */
+    public <U> FVector<U> map( final Function<T, U> f ) {
+        FVector<U> result = empty();
+        for ( T t : this ) {
+            result = result.append( f.apply( t ) );
+        }
+        return result;
+    }
+
+    /** Use this to get an immutable java.util.List with the elements of this vector.
+     *
+     * @return an immutable java.util.List with the elements of this vector
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>( size );
+        for ( T t : this ) {
+            result.add( t );
+        }
+        return Collections.unmodifiableList( result );
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int index = 0;
+            private Object[] leaf = size > 0 ? leafFor( 0 ) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings( "unchecked" )
+            public T next() {
+                if ( index >= size ) {
+                    throw new NoSuchElementException();
+                }
+                if ( index > 0 && ( index & MASK ) == 0 ) {
+                    leaf = leafFor( index );
+                }
+                return (T) leaf[ index++ & MASK ];
+            }
+        };
+    }
+
+    /** Gives a SIZED, SUBSIZED, IMMUTABLE and ORDERED Spliterator over the elements of this vector.
+     *  trySplit halves the remaining index range, so the splits are balanced and cost O(1).
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new VectorSpliterator<>( this, 0, size );
+    }
+
+    /** Use this to get a sequential Stream of the elements of this vector.
+     *
+     * @return a sequential Stream of the elements of this vector
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream( spliterator(), false );
+    }
+
+    /** Use this to get a parallel Stream of the elements of this vector.
+     *
+     * @return a parallel Stream of the elements of this vector
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream( spliterator(), true );
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof FVector ) ) return false;
+
+        FVector<?> other = (FVector<?>) o;
+        if ( size != other.size ) return false;
+
+        Iterator<?> it1 = iterator();
+        Iterator<?> it2 = other.iterator();
+        while ( it1.hasNext() ) {
+            Object v1 = it1.next();
+            Object v2 = it2.next();
+            if ( v1 != null ? !v1.equals( v2 ) : v2 != null ) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for ( T t : this ) {
+            result = 31 * result + ( t != null ? t.hashCode() : 0 );
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "[" );
+        Iterator<T> it = iterator();
+        while ( it.hasNext() ) {
+            sb.append( it.next() );
+            if ( it.hasNext() ) {
+                sb.append( ", " );
+            }
+        }
+        return sb.append( "]" ).toString();
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ( ( size - 1 ) >>> BITS ) << BITS;
+    }
+
+    private void checkIndex( int index ) {
+        if ( index < 0 || index >= size ) {
+            throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+        }
+    }
+
+    private static final class VectorSpliterator<T> implements Spliterator<T> {
+
+        private final FVector<T> vector;
+        private int index;
+        private final int end;
+
+        private VectorSpliterator( FVector<T> vector, int index, int end ) {
+            this.vector = vector;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super T> action ) {
+            if ( index >= end ) {
+                return false;
+            }
+            action.accept( vector.get( index++ ) );
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public void forEachRemaining( Consumer<? super T> action ) {
+            // one trie lookup per leaf
+            while ( index < end ) {
+                Object[] leaf = vector.leafFor( index );
+                int leafEnd = Math.min( end, ( index | MASK ) + 1 );
+                for ( int i = index; i < leafEnd; i++ ) {
+                    action.accept( (T) leaf[ i & MASK ] );
+                }
+                index = leafEnd;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = ( index + end ) >>> 1;
+            if ( middle - index < WIDTH ) {
+                return null;
+            }
+            // split at a leaf boundary so no leaf is shared between the spliterators
+            middle &= ~MASK;
+            VectorSpliterator<T> prefix = new VectorSpliterator<>( vector, index, middle );
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | IMMUTABLE | ORDERED;
+        }
+    }
+
+    private Object[] leafFor( int index ) {
+        checkIndex( index );
+        if ( index >= tailOffset() ) {
+            return tail;
+        }
+        Object[] node = root;
+        for ( int level = shift; level > 0; level -= BITS ) {
+            node = (Object[]) node[ ( index >>> level ) & MASK ];
+        }
+        return node;
+    }
+
+    private Object[] pushTail( int level, Object[] parent, Object[] tailNode ) {
+        int subIndex = ( ( size - 1 ) >>> level ) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if ( level == BITS ) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[ subIndex ];
+            nodeToInsert = child != null ?
+                               pushTail( level - BITS, child, tailNode ) :
+                               newPath( level - BITS, tailNode );
+        }
+        result[ subIndex ] = nodeToInsert;
+        return result;
+    }
+
+    private static Object[] newPath( int level, Object[] node ) {
+        if ( level == 0 ) {
+            return node;
+        }
+        Object[] result = new Object[ WIDTH ];
+        result[ 0 ] = newPath( level - BITS, node );
+        return result;
+    }
+
+    private static Object[] set( int level, Object[] node, int index, Object value ) {
+        Object[] result = node.clone();
+        if ( level == 0 ) {
+            result[ index & MASK ] = value;
+        } else {
+            int subIndex = ( index >>> level ) & MASK;
+            result[ subIndex ] = set( level - BITS, (Object[]) node[ subIndex ], index, value );
+        }
+        return result;
+    }
+
+
+    /** A mutable builder for bulk loads of a FVector. Other then appending to a vector, adding to a Builder
+     *  copies nothing: the elements are written into full leaves of 32 and build() creates the trie bottom-up
+     *  on top of them. The leaves are shared with the built vector but never changed again, so a Builder can
+     *  be used further after build(). A Builder is not thread save.
+     *
+     * @param <T> The type of the elements
+     */
+    public static final class Builder<T> {
+
+        private final List<Object[]> leaves = new ArrayList<>();
+        private Object[] leaf = new Object[ WIDTH ];
+        private int leafSize = 0;
+
+        private Builder() {}
+
+        public Builder<T> add( final T value ) {
+            if ( leafSize == WIDTH ) {
+                leaves.add( leaf );
+                leaf = new Object[ WIDTH ];
+                leafSize = 0;
+            }
+            leaf[ leafSize++ ] = value;
+            return this;
+        }
+
+        public Builder<T> addAll( final Iterable<? extends T> values ) {
+            for ( T value : values ) {
+                add( value );
+            }
+            return this;
+        }
+
+        public int size() {
+            return leaves.size() * WIDTH + leafSize;
+        }
+
+        /** Use this to create a vector with the elements that are added so far.
+         *
+         * @return a new vector with the added elements in the order they were added
+         */
+        @SuppressWarnings( "unchecked" )
+        public FVector<T> build() {
+            int size = size();
+            if ( size == 0 ) {
+                return empty();
+            }
+
+            // the current leaf is the tail, also if it is full. A full leaf is never written again
+            Object[] tail = leafSize == WIDTH ?
+                                leaf :
+                                Arrays.copyOf( leaf, leafSize );
+            List<Object[]> nodes = leaves;
+
+            int shift = BITS;
+            while ( nodes.size() > WIDTH ) {
+                List<Object[]> parents = new ArrayList<>( ( nodes.size() + MASK ) >>> BITS );
+                for ( int i = 0; i < nodes.size(); i += WIDTH ) {
+                    Object[] parent = new Object[ WIDTH ];
+                    for ( int j = i; j < Math.min( i + WIDTH, nodes.size() ); j++ ) {
+                        parent[ j - i ] = nodes.get( j );
+                    }
+                    parents.add( parent );
+                }
+                nodes = parents;
+                shift += BITS;
+            }
+            Object[] root = nodes.isEmpty() ?
+                                EMPTY_NODE :
+                                nodes.toArray( new Object[ WIDTH ] );
+            return new FVector<>( size, shift, root, tail );
+        }
+    }
+
+
+    /** Use this to get the empty vector of specified type.
+     *
+     * @param <T> The type of the vector
+     * @return The empty vector
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> FVector<T> empty() {
+        return EMPTY;
+    }
+
+    /** Use this to create a vector of specified type with the given arguments as content.
+     *
+     * @param values Values of new vector
+     * @param <T> The type of the vector
+     * @return A vector with the given arguments as values
+     */
+    @SafeVarargs
+    public static <T> FVector<T> of( final T... values ) {
+        Builder<T> builder = builder();
+        for ( T value : values ) {
+            builder.add( value );
+        }
+        return builder.build();
+    }
+
+    /** Use this to create a vector of specified type from a given Iterable of the same type.
+     *
+     * @param values The source values
+     * @param <T> The type of the vector
+     * @return A vector with the given values in the same order
+     */
+    public static <T> FVector<T> from( final Iterable<T> values ) {
+        return FVector.<T>builder().addAll( values ).build();
+    }
+
+    /** Use this to get a new Builder for a bulk load of a vector.
+     *
+     * @param <T> The type of the vector
+     * @return a new empty Builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+}
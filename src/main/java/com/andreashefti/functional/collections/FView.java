@@ -0,0 +1,172 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Effect;
+import com.andreashefti.functional.Monoid;
+import com.andreashefti.functional.Ops.Op2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+/** A lazy view of a source with a chain of map, filter and flatMap stages that runs in a single pass.
+ *
+ *  Chaining FCollections.map calls creates a full list for each step. A FView only records the stages. A terminal
+ *  operation like foldLeft or toList fuses all stages into one chain of effects, where each stage pushes its result
+ *  directly into the next stage, and pushes the elements of the source through it in one loop. So there are no
+ *  intermediate lists, whatever the number of stages is:
+ *
+ *  <pre>
+ *      long total = FCollections.view( orders )
+ *          .filter( Order::isOpen )
+ *          .map( Order::getItems )
+ *          .flatMap( items -> items )
+ *          .map( Item::getPrice )
+ *          .foldLeft( 0L, sum -> price -> sum + price );
+ *  </pre>
+ *
+ *  A FView is immutable. Each stage gives a new FView and the stages run again for each terminal operation.
+ *
+ * @param <T> The type of the elements of the view
+ */
+public final class FView<T> {
+
+    private final Iterable<?> source;
+    // gives the effect that takes the source elements for the effect that takes the elements of this view
+    private final Function<Effect<T>, Effect<Object>> stages;
+
+    private FView( Iterable<?> source, Function<Effect<T>, Effect<Object>> stages ) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    public <U> FView<U> map( final Function<T, U> f ) {
+        return new FView<>( source, next -> stages.apply( t -> next.apply( f.apply( t ) ) ) );
+    }
+
+    public FView<T> filter( final Predicate<T> p ) {
+        return new FView<>( source, next -> stages.apply( t -> {
+            if ( p.test( t ) ) {
+                next.apply( t );
+            }
+        } ) );
+    }
+
+    public <U> FView<U> flatMap( final Function<T, ? extends Iterable<U>> f ) {
+        return new FView<>( source, next -> stages.apply( t -> {
+            for ( U u : f.apply( t ) ) {
+                next.apply( u );
+            }
+        } ) );
+    }
+
+    /** Use this to run all stages and to apply the given effect to each resulting element.
+     *
+     * @param effect The effect to apply to each element of this view
+     */
+    public void forEach( final Effect<T> effect ) {
+        Effect<Object> head = stages.apply( effect );
+        if ( source instanceof List && source instanceof RandomAccess ) {
+            List<?> list = (List<?>) source;
+            for ( int i = 0, size = list.size(); i < size; i++ ) {
+                head.apply( list.get( i ) );
+            }
+        } else {
+            for ( Object element : source ) {
+                head.apply( element );
+            }
+        }
+    }
+
+    /** This is a left fold over the elements of this view, running all stages in the same pass.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each element of the view
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the folding with given identity and function
+     */
+    public <U> U foldLeft( final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        Accumulator<U> acc = new Accumulator<>( identity );
+        forEach( t -> acc.value = op.apply( acc.value, t ) );
+        return acc.value;
+    }
+
+    /** Use this to map each element of this view with the given function and to combine the results with the
+     *  given Monoid, running all stages in the same pass.
+     *
+     * @param monoid The Monoid to combine the mapped elements
+     * @param f The map function
+     * @param <U> The type of the result
+     * @return the combination of all mapped elements or the identity of the monoid if the view is empty
+     */
+    public <U> U foldMap( final Monoid<U> monoid, final Function<T, U> f ) {
+        Accumulator<U> acc = new Accumulator<>( monoid.identity() );
+        forEach( t -> acc.value = monoid.combine( acc.value, f.apply( t ) ) );
+        return acc.value;
+    }
+
+    public long count() {
+        long[] count = { 0 };
+        forEach( t -> count[ 0 ]++ );
+        return count[ 0 ];
+    }
+
+    /** Use this to run all stages and to gather the resulting elements in an unmodifiable List.
+     *
+     * @return a new unmodifiable List with the elements of this view
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        forEach( result::add );
+        return Collections.unmodifiableList( result );
+    }
+
+    public FVector<T> toFVector() {
+        FVector.Builder<T> builder = FVector.builder();
+        forEach( builder::add );
+        return builder.build();
+    }
+
+    /** Use this to run all stages and to gather the resulting elements in a FList.
+     *  The elements are gathered in the segment buffer of FCollectors.toFList and then prepended from the last
+     *  to the first, so there is no intermediate List that is copied.
+     *
+     * @return a new FList with the elements of this view
+     */
+    public FList<T> toFList() {
+        return collect( FCollectors.toFList() );
+    }
+
+    private <A, R> R collect( final Collector<T, A, R> collector ) {
+        A container = collector.supplier().get();
+        BiConsumer<A, T> accumulator = collector.accumulator();
+        forEach( t -> accumulator.accept( container, t ) );
+        return collector.finisher().apply( container );
+    }
+
+    private static final class Accumulator<U> {
+
+        private U value;
+
+        private Accumulator( U value ) {
+            this.value = value;
+        }
+    }
+
+
+    /** Use this to get a view of the given source without any stages.
+     *
+     * @param source The source elements
+     * @param <T> The type of the elements
+     * @return a view of the given source
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> FView<T> of( final Iterable<T> source ) {
+        return new FView<>( source, next -> (Effect<Object>) (Effect<?>) next );
+    }
+}
@@ -0,0 +1,252 @@
+package com.andreashefti.functional.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/** A persistent singly linked list (cons list) of int values.
+ *
+ *  This is the int specialization of FList. The values are stored unboxed within the Cons cells and
+ *  map, filter and foldLeft take int operators from java.util.function, so none of the operations
+ *  creates a Integer for an element or for an intermediate result of a fold:
+ *
+ *  <pre>
+ *      int sum = IntList.range( 0, 1000 ).map( x -> x * x ).foldLeft( 0, ( acc, x ) -> acc + x );
+ *  </pre>
+ *
+ *  Like FList, prepend, head and tail are O(1) and all lists created from another list share the common tail.
+ */
+public abstract class IntList {
+
+    private static final IntList NIL = new Nil();
+
+    private IntList() {}
+
+    public abstract int head();
+    public abstract IntList tail();
+    public abstract boolean isEmpty();
+    public abstract int size();
+
+    /** Use this to prepend a value to this list. This is O(1) and the new list shares this list as its tail.
+     *
+     * @param value The value to prepend
+     * @return a new list with the given value as head and this list as tail
+     */
+    public IntList prepend( final int value ) {
+        return new Cons( value, this );
+    }
+
+    /** This is a left fold of this list with a given identity using a given operator.
+     *  It is implemented as a loop over the cons cells and neither the elements nor the accumulator are boxed.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The operator that is applied to the accumulator and each element in the list
+     * @return The result of the left side list folding with given identity and operator
+     */
+    public int foldLeft( final int identity, final IntBinaryOperator f ) {
+        int result = identity;
+        IntList list = this;
+        while ( !list.isEmpty() ) {
+            result = f.applyAsInt( result, list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get the sum of all elements of this list.
+     *
+     * @return the sum of all elements of this list
+     */
+    public int sum() {
+        return foldLeft( 0, ( acc, x ) -> acc + x );
+    }
+
+    /** Use this to create a new reversed list from this list.
+     *
+     * @return new reversed list
+     */
+    public IntList reverse() {
+        IntList result = NIL;
+        IntList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** This is the map operation of IntList that maps each element of this list within a given operator.
+     *
+     * @param f The map operator
+     * @return a new list with the mapped elements
+     */
+    public IntList map( final IntUnaryOperator f ) {
+        IntList result = NIL;
+        IntList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( f.applyAsInt( list.head() ) );
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to create a new list with all elements of this list that matches the given predicate.
+     *
+     * @param p The predicate
+     * @return a new list with all elements of this list that matches the given predicate
+     */
+    public IntList filter( final IntPredicate p ) {
+        IntList result = NIL;
+        IntList list = this;
+        while ( !list.isEmpty() ) {
+            if ( p.test( list.head() ) ) {
+                result = result.prepend( list.head() );
+            }
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to get an array with the elements of this list.
+     *
+     * @return a new array with the elements of this list
+     */
+    public int[] toArray() {
+        int[] result = new int[ size() ];
+        IntList list = this;
+        for ( int i = 0; i < result.length; i++ ) {
+            result[ i ] = list.head();
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get an unboxed iterator over the elements of this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+
+            private IntList current = IntList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                if ( current.isEmpty() ) {
+                    throw new NoSuchElementException();
+                }
+                int value = current.head();
+                current = current.tail();
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public final boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof IntList ) ) return false;
+
+        IntList list1 = this;
+        IntList list2 = (IntList) o;
+        if ( list1.size() != list2.size() ) return false;
+
+        while ( !list1.isEmpty() ) {
+            if ( list1 == list2 ) return true;
+            if ( list1.head() != list2.head() ) return false;
+            list1 = list1.tail();
+            list2 = list2.tail();
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = 1;
+        IntList list = this;
+        while ( !list.isEmpty() ) {
+            result = 31 * result + Integer.hashCode( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString( toArray() );
+    }
+
+
+    private static final class Nil extends IntList {
+
+        private Nil() {}
+
+        @Override public int head() { throw new IllegalStateException( "head of empty list" ); }
+        @Override public IntList tail() { throw new IllegalStateException( "tail of empty list" ); }
+        @Override public boolean isEmpty() { return true; }
+        @Override public int size() { return 0; }
+    }
+
+    private static final class Cons extends IntList {
+
+        private final int head;
+        private final IntList tail;
+        private final int size;
+
+        private Cons( int head, IntList tail ) {
+            this.head = head;
+            this.tail = tail;
+            this.size = tail.size() + 1;
+        }
+
+        @Override public int head() { return head; }
+        @Override public IntList tail() { return tail; }
+        @Override public boolean isEmpty() { return false; }
+        @Override public int size() { return size; }
+    }
+
+
+    /** Use this to get the empty list.
+     *
+     * @return The empty list
+     */
+    public static IntList empty() {
+        return NIL;
+    }
+
+    /** Use this to create a list with the given arguments as content.
+     *
+     * @param values Values of new list
+     * @return A list with the given arguments as values
+     */
+    public static IntList of( final int... values ) {
+        IntList result = NIL;
+        for ( int i = values.length - 1; i >= 0; i-- ) {
+            result = result.prepend( values[ i ] );
+        }
+        return result;
+    }
+
+    /** Use this to create a list of all values from start (inclusive) to end (exclusive).
+     *  The list is built from the end, so each step is a O(1) prepend and no value is boxed.
+     *
+     * @param start The first value of the range
+     * @param end The value after the last value of the range
+     * @return a list of all values from start (inclusive) to end (exclusive)
+     */
+    public static IntList range( final int start, final int end ) {
+        IntList result = NIL;
+        for ( int i = end; i > start; ) {
+            result = result.prepend( --i );
+        }
+        return result;
+    }
+}
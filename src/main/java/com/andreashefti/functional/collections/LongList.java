@@ -0,0 +1,252 @@
+package com.andreashefti.functional.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/** A persistent singly linked list (cons list) of long values.
+ *
+ *  This is the long specialization of FList. The values are stored unboxed within the Cons cells and
+ *  map, filter and foldLeft take long operators from java.util.function, so none of the operations
+ *  creates a Long for an element or for an intermediate result of a fold:
+ *
+ *  <pre>
+ *      long sum = LongList.range( 0L, 1000L ).map( x -> x * x ).foldLeft( 0, ( acc, x ) -> acc + x );
+ *  </pre>
+ *
+ *  Like FList, prepend, head and tail are O(1) and all lists created from another list share the common tail.
+ */
+public abstract class LongList {
+
+    private static final LongList NIL = new Nil();
+
+    private LongList() {}
+
+    public abstract long head();
+    public abstract LongList tail();
+    public abstract boolean isEmpty();
+    public abstract int size();
+
+    /** Use this to prepend a value to this list. This is O(1) and the new list shares this list as its tail.
+     *
+     * @param value The value to prepend
+     * @return a new list with the given value as head and this list as tail
+     */
+    public LongList prepend( final long value ) {
+        return new Cons( value, this );
+    }
+
+    /** This is a left fold of this list with a given identity using a given operator.
+     *  It is implemented as a loop over the cons cells and neither the elements nor the accumulator are boxed.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The operator that is applied to the accumulator and each element in the list
+     * @return The result of the left side list folding with given identity and operator
+     */
+    public long foldLeft( final long identity, final LongBinaryOperator f ) {
+        long result = identity;
+        LongList list = this;
+        while ( !list.isEmpty() ) {
+            result = f.applyAsLong( result, list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get the sum of all elements of this list.
+     *
+     * @return the sum of all elements of this list
+     */
+    public long sum() {
+        return foldLeft( 0, ( acc, x ) -> acc + x );
+    }
+
+    /** Use this to create a new reversed list from this list.
+     *
+     * @return new reversed list
+     */
+    public LongList reverse() {
+        LongList result = NIL;
+        LongList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** This is the map operation of LongList that maps each element of this list within a given operator.
+     *
+     * @param f The map operator
+     * @return a new list with the mapped elements
+     */
+    public LongList map( final LongUnaryOperator f ) {
+        LongList result = NIL;
+        LongList list = this;
+        while ( !list.isEmpty() ) {
+            result = result.prepend( f.applyAsLong( list.head() ) );
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to create a new list with all elements of this list that matches the given predicate.
+     *
+     * @param p The predicate
+     * @return a new list with all elements of this list that matches the given predicate
+     */
+    public LongList filter( final LongPredicate p ) {
+        LongList result = NIL;
+        LongList list = this;
+        while ( !list.isEmpty() ) {
+            if ( p.test( list.head() ) ) {
+                result = result.prepend( list.head() );
+            }
+            list = list.tail();
+        }
+        return result.reverse();
+    }
+
+    /** Use this to get an array with the elements of this list.
+     *
+     * @return a new array with the elements of this list
+     */
+    public long[] toArray() {
+        long[] result = new long[ size() ];
+        LongList list = this;
+        for ( int i = 0; i < result.length; i++ ) {
+            result[ i ] = list.head();
+            list = list.tail();
+        }
+        return result;
+    }
+
+    /** Use this to get an unboxed iterator over the elements of this list.
+     *
+     * @return an iterator over the elements of this list
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private LongList current = LongList.this;
+
+            @Override
+            public boolean hasNext() {
+                return !current.isEmpty();
+            }
+
+            @Override
+            public long nextLong() {
+                if ( current.isEmpty() ) {
+                    throw new NoSuchElementException();
+                }
+                long value = current.head();
+                current = current.tail();
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public final boolean equals( Object o ) {
+        if( this == o ) return true;
+        if( !( o instanceof LongList ) ) return false;
+
+        LongList list1 = this;
+        LongList list2 = (LongList) o;
+        if ( list1.size() != list2.size() ) return false;
+
+        while ( !list1.isEmpty() ) {
+            if ( list1 == list2 ) return true;
+            if ( list1.head() != list2.head() ) return false;
+            list1 = list1.tail();
+            list2 = list2.tail();
+        }
+        return true;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = 1;
+        LongList list = this;
+        while ( !list.isEmpty() ) {
+            result = 31 * result + Long.hashCode( list.head() );
+            list = list.tail();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString( toArray() );
+    }
+
+
+    private static final class Nil extends LongList {
+
+        private Nil() {}
+
+        @Override public long head() { throw new IllegalStateException( "head of empty list" ); }
+        @Override public LongList tail() { throw new IllegalStateException( "tail of empty list" ); }
+        @Override public boolean isEmpty() { return true; }
+        @Override public int size() { return 0; }
+    }
+
+    private static final class Cons extends LongList {
+
+        private final long head;
+        private final LongList tail;
+        private final int size;
+
+        private Cons( long head, LongList tail ) {
+            this.head = head;
+            this.tail = tail;
+            this.size = tail.size() + 1;
+        }
+
+        @Override public long head() { return head; }
+        @Override public LongList tail() { return tail; }
+        @Override public boolean isEmpty() { return false; }
+        @Override public int size() { return size; }
+    }
+
+
+    /** Use this to get the empty list.
+     *
+     * @return The empty list
+     */
+    public static LongList empty() {
+        return NIL;
+    }
+
+    /** Use this to create a list with the given arguments as content.
+     *
+     * @param values Values of new list
+     * @return A list with the given arguments as values
+     */
+    public static LongList of( final long... values ) {
+        LongList result = NIL;
+        for ( int i = values.length - 1; i >= 0; i-- ) {
+            result = result.prepend( values[ i ] );
+        }
+        return result;
+    }
+
+    /** Use this to create a list of all values from start (inclusive) to end (exclusive).
+     *  The list is built from the end, so each step is a O(1) prepend and no value is boxed.
+     *
+     * @param start The first value of the range
+     * @param end The value after the last value of the range
+     * @return a list of all values from start (inclusive) to end (exclusive)
+     */
+    public static LongList range( final long start, final long end ) {
+        LongList result = NIL;
+        for ( long i = end; i > start; ) {
+            result = result.prepend( --i );
+        }
+        return result;
+    }
+}
@@ -1,19 +1,243 @@
 package com.andreashefti.functional.collections;
 
+import com.andreashefti.functional.Monoid;
+import com.andreashefti.functional.Ops.Op2;
+import com.andreashefti.functional.Result;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-/**
+/** A tree where each node has a value and an ordered list of child nodes.
+ *
+ *  None of the operations of the tree use recursive method calls. They traverse the tree with an explicit stack
+ *  (or queue) on the heap, so they work for trees of any depth. The order of fold and the depth first iterator
+ *  is pre-order: a node first and then the subtrees of its children from the first to the last child.
+ *
+ *  parallelMap and parallelReduce process the tree within the common ForkJoinPool. A task processes the nodes of
+ *  its subtrees until it has processed a threshold of nodes and then forks the later half of its pending subtrees
+ *  as a new task.
+ *
  * Created by andreashefti on 24.07.17.
  */
-public class Tree<T> {
+public class Tree<T> implements Iterable<T> {
+
+    /** The default number of nodes a parallel task processes before it splits off pending subtrees */
+    public static final int PARALLEL_THRESHOLD = 4096;
 
     final Node<T> rootNode;
 
     public Tree( T rootValue ) {
-        rootNode = new Node( rootValue );
+        rootNode = new Node<>( rootValue );
+    }
+
+    public Tree( Node<T> rootNode ) {
+        this.rootNode = rootNode;
+    }
+
+    public Node<T> root() {
+        return rootNode;
+    }
+
+    public int size() {
+        return fold( 0, s -> t -> s + 1 );
+    }
+
+    /** This is a left fold over the values of this tree in pre-order.
+     *
+     * @param identity An identity value that acts as a start value
+     * @param f The function that is applied for each value in the tree
+     * @param <U> The type of the result (and the identity)
+     * @return The result of the folding with given identity and function
+     */
+    public <U> U fold( final U identity, final Function<U, Function<T, U>> f ) {
+        Op2<U, T, U> op = Op2.from( f );
+        U result = identity;
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push( rootNode );
+        while ( !stack.isEmpty() ) {
+            Node<T> node = stack.pop();
+            result = op.apply( result, node.value );
+            pushChildren( stack, node );
+        }
+        return result;
+    }
+
+    /** This is the map operation of Tree that maps the value of each node within a given function
+     *  to a new tree with the same structure.
+     *
+     * @param f The map function
+     * @param <U> The target type
+     * @return a new tree with the mapped values
+     */
+    public <U> Tree<U> map( final Function<T, U> f ) {
+        Node<U> newRoot = new Node<>( f.apply( rootNode.value ) );
+        Deque<MapEntry<T, U>> stack = new ArrayDeque<>();
+        stack.push( new MapEntry<>( rootNode, newRoot ) );
+        while ( !stack.isEmpty() ) {
+            mapChildren( stack, f );
+        }
+        return new Tree<>( newRoot );
+    }
+
+    /** Use this to get a new tree with all nodes whose value matches the given predicate.
+     *  If the value of a node does not match, the whole subtree of that node is removed.
+     *
+     * @param p The predicate
+     * @return a Success with the filtered tree or an Empty Result if the value of the root node does not match
+     */
+    public Result<Tree<T>> filter( final Predicate<T> p ) {
+        if ( !p.test( rootNode.value ) ) {
+            return Result.empty();
+        }
+
+        Node<T> newRoot = new Node<>( rootNode.value );
+        Deque<Node<T>> sources = new ArrayDeque<>();
+        Deque<Node<T>> targets = new ArrayDeque<>();
+        sources.push( rootNode );
+        targets.push( newRoot );
+        while ( !sources.isEmpty() ) {
+            Node<T> source = sources.pop();
+            Node<T> target = targets.pop();
+            for ( Node<T> child : source.children ) {
+                if ( p.test( child.value ) ) {
+                    sources.push( child );
+                    targets.push( target.addChild( child.value ) );
+                }
+            }
+        }
+        return Result.success( new Tree<>( newRoot ) );
+    }
+
+    /** Use this to get an iterator over the values of this tree in depth first pre-order.
+     *
+     * @return an iterator over the values of this tree in depth first pre-order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return depthFirstIterator();
+    }
+
+    /** Gives an ORDERED Spliterator over the values of this tree in depth first pre-order.
+     *  trySplit splits at subtree boundaries: it hands over the earlier half of the pending subtrees or, if only one
+     *  subtree is pending, its root value and the earlier half of its children. Since the size of a tree is not
+     *  known without traversing it, the Spliterator is not SIZED.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push( rootNode );
+        return new NodeSpliterator<>( stack, Long.MAX_VALUE );
+    }
+
+    /** Use this to get a sequential Stream of the values of this tree in depth first pre-order.
+     *
+     * @return a sequential Stream of the values of this tree
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream( spliterator(), false );
+    }
+
+    /** Use this to get a parallel Stream of the values of this tree. The encounter order is depth first pre-order.
+     *
+     * @return a parallel Stream of the values of this tree
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream( spliterator(), true );
+    }
+
+    public Iterator<T> depthFirstIterator() {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push( rootNode );
+        return new NodeIterator<>( stack, true );
     }
 
+    public Iterator<T> breadthFirstIterator() {
+        Deque<Node<T>> queue = new ArrayDeque<>();
+        queue.add( rootNode );
+        return new NodeIterator<>( queue, false );
+    }
+
+    public <U> Tree<U> parallelMap( final Function<T, U> f ) {
+        return parallelMap( f, PARALLEL_THRESHOLD );
+    }
+
+    /** This is the map operation of Tree that maps the nodes in parallel within the common ForkJoinPool.
+     *  The given function must not depend on the order in which it is applied to the values.
+     *
+     * @param f The map function
+     * @param threshold The number of nodes a task processes before it splits off pending subtrees
+     * @param <U> The target type
+     * @return a new tree with the mapped values
+     */
+    public <U> Tree<U> parallelMap( final Function<T, U> f, final int threshold ) {
+        Node<U> newRoot = new Node<>( f.apply( rootNode.value ) );
+        Deque<MapEntry<T, U>> stack = new ArrayDeque<>();
+        stack.push( new MapEntry<>( rootNode, newRoot ) );
+        ForkJoinPool.commonPool().invoke( new MapTask<>( null, stack, f, threshold ) );
+        return new Tree<>( newRoot );
+    }
+
+    /** Use this to map each value of this tree and to combine the mapped values with the given Monoid in parallel.
+     *  This is parallelReduce with the identity and the combine operation of the Monoid.
+     *
+     * @param monoid The Monoid to combine the mapped values
+     * @param f The function that maps each value of the tree
+     * @param <U> The type of the result
+     * @return the combination of all mapped values of this tree
+     */
+    public <U> U foldMapParallel( final Monoid<U> monoid, final Function<T, U> f ) {
+        return parallelReduce( monoid.identity(), f, Op2.of( monoid::combine ), PARALLEL_THRESHOLD );
+    }
+
+    public <U> U parallelReduce( final U identity, final Function<T, U> mapper, final Function<U, Function<U, U>> combiner ) {
+        return parallelReduce( identity, mapper, combiner, PARALLEL_THRESHOLD );
+    }
+
+    /** Reduces the values of this tree in parallel within the common ForkJoinPool.
+     *  Each value is mapped with the given mapper and the mapped values are combined in pre-order. So the
+     *  result is the same as of a sequential fold as long as the combiner is associative and the identity
+     *  is neutral to the combiner.
+     *
+     * @param identity An identity value that is neutral to the combiner
+     * @param mapper The function that maps each value of the tree
+     * @param combiner An associative function to combine two mapped values
+     * @param threshold The number of nodes a task processes before it splits off pending subtrees
+     * @param <U> The type of the result
+     * @return the combination of all mapped values of this tree
+     */
+    public <U> U parallelReduce(
+        final U identity,
+        final Function<T, U> mapper,
+        final Function<U, Function<U, U>> combiner,
+        final int threshold
+    ) {
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push( rootNode );
+        return ForkJoinPool.commonPool().invoke( new ReduceTask<>( null, stack, identity, mapper, combiner, threshold ) );
+    }
+
+    @Override
+    public String toString() {
+        return "Tree{" +
+                   "root=" + rootNode.value +
+                   ", size=" + size() +
+                   '}';
+    }
+
+
     public static class Node<T> {
 
         final T value;
@@ -23,5 +247,291 @@ public class Tree<T> {
             this.value = value;
             children = new ArrayList<>();
         }
+
+        public T value() {
+            return value;
+        }
+
+        public List<Node<T>> children() {
+            return Collections.unmodifiableList( children );
+        }
+
+        /** Use this to add a new child node with the given value to this node.
+         *
+         * @param value The value of the new child node
+         * @return the new child node
+         */
+        public Node<T> addChild( T value ) {
+            return addChild( new Node<>( value ) );
+        }
+
+        public Node<T> addChild( Node<T> child ) {
+            children.add( child );
+            return child;
+        }
+    }
+
+
+    private static <T> void pushChildren( Deque<Node<T>> stack, Node<T> node ) {
+        for ( int i = node.children.size() - 1; i >= 0; i-- ) {
+            stack.push( node.children.get( i ) );
+        }
+    }
+
+    /* Maps the children of the source node of the entry on top of the given stack to the children of its target
+     * node and pushes them as new entries. Returns the number of mapped children. */
+    private static <T, U> int mapChildren( Deque<MapEntry<T, U>> stack, Function<T, U> f ) {
+        MapEntry<T, U> entry = stack.pop();
+        List<Node<T>> sourceChildren = entry.source.children;
+        List<Node<U>> targetChildren = new ArrayList<>( sourceChildren.size() );
+        for ( Node<T> child : sourceChildren ) {
+            targetChildren.add( new Node<>( f.apply( child.value ) ) );
+        }
+        entry.target.children = targetChildren;
+        for ( int i = sourceChildren.size() - 1; i >= 0; i-- ) {
+            stack.push( new MapEntry<>( sourceChildren.get( i ), targetChildren.get( i ) ) );
+        }
+        return sourceChildren.size();
+    }
+
+    /* Splits off the later half of the given stack. The entries keep their order, so the new stack
+     * continues in pre-order after the entries that are left in the given stack. */
+    private static <E> Deque<E> splitOff( Deque<E> stack ) {
+        Deque<E> result = new ArrayDeque<>();
+        int count = stack.size() / 2;
+        for ( int i = 0; i < count; i++ ) {
+            result.push( stack.removeLast() );
+        }
+        return result;
+    }
+
+    /* A depth first (stack) or breadth first (queue) iterator over the values of the nodes in the given deque */
+    private static final class NodeIterator<T> implements Iterator<T> {
+
+        private final Deque<Node<T>> nodes;
+        private final boolean depthFirst;
+
+        private NodeIterator( Deque<Node<T>> nodes, boolean depthFirst ) {
+            this.nodes = nodes;
+            this.depthFirst = depthFirst;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !nodes.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if ( nodes.isEmpty() ) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = nodes.poll();
+            if ( depthFirst ) {
+                pushChildren( nodes, node );
+            } else {
+                nodes.addAll( node.children );
+            }
+            return node.value;
+        }
+    }
+
+    /* A depth first pre-order Spliterator over the subtrees on the given stack, the top of the stack is the next
+     * subtree. A split off prefix may start with a single value of a node whose children are split. */
+    private static final class NodeSpliterator<T> implements Spliterator<T> {
+
+        private final Deque<Node<T>> nodes;
+        private Node<T> pendingValue;
+        private long estimate;
+
+        private NodeSpliterator( Deque<Node<T>> nodes, long estimate ) {
+            this.nodes = nodes;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance( Consumer<? super T> action ) {
+            if ( pendingValue != null ) {
+                T value = pendingValue.value;
+                pendingValue = null;
+                action.accept( value );
+                return true;
+            }
+            if ( nodes.isEmpty() ) {
+                return false;
+            }
+            Node<T> node = nodes.pop();
+            pushChildren( nodes, node );
+            action.accept( node.value );
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining( Consumer<? super T> action ) {
+            if ( pendingValue != null ) {
+                T value = pendingValue.value;
+                pendingValue = null;
+                action.accept( value );
+            }
+            while ( !nodes.isEmpty() ) {
+                Node<T> node = nodes.pop();
+                pushChildren( nodes, node );
+                action.accept( node.value );
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if ( pendingValue != null ) {
+                return null;
+            }
+            Deque<Node<T>> prefix = new ArrayDeque<>();
+            Node<T> prefixValue = null;
+            if ( nodes.size() > 1 ) {
+                // the earlier half of the pending subtrees
+                int count = nodes.size() / 2;
+                for ( int i = 0; i < count; i++ ) {
+                    prefix.addLast( nodes.pop() );
+                }
+            } else if ( nodes.size() == 1 && nodes.peek().children.size() > 1 ) {
+                // the root value and the earlier half of the children of the only pending subtree
+                Node<T> node = nodes.pop();
+                List<Node<T>> children = node.children;
+                int middle = children.size() / 2;
+                prefixValue = node;
+                prefix.addAll( children.subList( 0, middle ) );
+                for ( int i = children.size() - 1; i >= middle; i-- ) {
+                    nodes.push( children.get( i ) );
+                }
+            } else {
+                return null;
+            }
+            // like for other Spliterators of unknown size the estimate halves with each split, so a parallel stream
+            // stops splitting after a few levels instead of splitting down to single nodes
+            estimate = estimate >>> 1;
+            NodeSpliterator<T> result = new NodeSpliterator<>( prefix, estimate );
+            result.pendingValue = prefixValue;
+            return result;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED;
+        }
+    }
+
+    /* A source node and its already mapped target node */
+    private static final class MapEntry<T, U> {
+
+        final Node<T> source;
+        final Node<U> target;
+
+        MapEntry( Node<T> source, Node<U> target ) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+
+    /* The parallel tasks are CountedCompleter's that never join a forked task. A task completes when it and all tasks
+     * it has forked are done, so also a long chain of forked tasks along a deep path does not grow the call stack. */
+    private static final class MapTask<T, U> extends CountedCompleter<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Deque<MapEntry<T, U>> stack;
+        private final Function<T, U> f;
+        private final int threshold;
+
+        MapTask( CountedCompleter<?> parent, Deque<MapEntry<T, U>> stack, Function<T, U> f, int threshold ) {
+            super( parent );
+            this.stack = stack;
+            this.f = f;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void compute() {
+            int count = 0;
+            while ( !stack.isEmpty() ) {
+                if ( count >= threshold && stack.size() > 1 ) {
+                    addToPendingCount( 1 );
+                    new MapTask<>( this, splitOff( stack ), f, threshold ).fork();
+                    count = 0;
+                }
+                count += mapChildren( stack, f );
+            }
+            tryComplete();
+        }
+    }
+
+    private static final class ReduceTask<T, U> extends CountedCompleter<U> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Deque<Node<T>> stack;
+        private final U identity;
+        private final Function<T, U> mapper;
+        private final Op2<U, U, U> combiner;
+        private final int threshold;
+        private final List<ReduceTask<T, U>> forked = new ArrayList<>();
+
+        private U result;
+
+        ReduceTask(
+            CountedCompleter<?> parent,
+            Deque<Node<T>> stack,
+            U identity,
+            Function<T, U> mapper,
+            Function<U, Function<U, U>> combiner,
+            int threshold
+        ) {
+            super( parent );
+            this.stack = stack;
+            this.identity = identity;
+            this.mapper = mapper;
+            this.combiner = Op2.from( combiner );
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void compute() {
+            U result = identity;
+            int count = 0;
+            while ( !stack.isEmpty() ) {
+                if ( count >= threshold && stack.size() > 1 ) {
+                    ReduceTask<T, U> task = new ReduceTask<>( this, splitOff( stack ), identity, mapper, combiner, threshold );
+                    forked.add( task );
+                    addToPendingCount( 1 );
+                    task.fork();
+                    count = 0;
+                }
+
+                Node<T> node = stack.pop();
+                result = combiner.apply( result, mapper.apply( node.value ) );
+                pushChildren( stack, node );
+                count++;
+            }
+            this.result = result;
+            tryComplete();
+        }
+
+        @Override
+        public void onCompletion( CountedCompleter<?> caller ) {
+            // a task that was forked later covers subtrees that come earlier in pre-order
+            for ( int i = forked.size() - 1; i >= 0; i-- ) {
+                result = combiner.apply( result, forked.get( i ).result );
+            }
+            forked.clear();
+        }
+
+        @Override
+        public U getRawResult() {
+            return result;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.andreashefti.exercise;
 
+import com.andreashefti.functional.Memo;
 import com.andreashefti.functional.TailCall;
 import com.andreashefti.functional.Trampoline;
 import org.junit.Test;
@@ -64,8 +65,10 @@ public class TailCallAndTrampoline {
 
     // Conclusion: From the implementation point of view and also from the processing point of viw they are the quite the same.
     //             The implementations of Trampoline seems better because it defines a functional interface that is extended from the
-    //             Supplier interface with default implementations for the none functional methods and it uses Java 8 Streams on
-    //             invoke witch makes it more functional and also more readable.
+    //             Supplier interface with default implementations for the none functional methods.
+    //             Invoke used Java 8 Streams first, witch reads more functional but creates a stream pipeline for every
+    //             invoke and adds overhead to every bounce. Now it uses the same simple loop as TailCall.Suspend.eval
+    //             (see the TrampolineBenchmark in the benchmarks module).
 
 
 
@@ -174,12 +177,48 @@ public class TailCallAndTrampoline {
         }
     }
 
+    // **** Memoized fibonacci implementation ****
+
+    // The naive implementation is slow because it computes the same values again and again. With Memo.recursive
+    // the naive definition can be kept: the recursive calls go through the memoized function and hit the cache,
+    // and since the memoized function returns a Trampoline also the deep recursions are stack save.
+
+    @Test
+    public void memoizedFibonacci() {
+        assertEquals( "55", String.valueOf( memoizedFibonacci.apply( 10 ) ) );
+        assertEquals( "354224848179261915075", String.valueOf( memoizedFibonacci.apply( 100 ) ) );
+        assertEquals(
+            String.valueOf( trampolineFibonacci( 5000 ) ),
+            String.valueOf( memoizedFibonacci.apply( 5000 ) )
+        );
+    }
+
+    private static final Function<Integer, BigInteger> memoizedFibonacci = Memo.recursive( self -> number ->
+        number == 0 || number == 1 ?
+            Trampoline.done( BigInteger.valueOf( number ) ) :
+            self.apply( number - 1 ).flatMap( a -> self.apply( number - 2 ).map( a::add ) )
+    );
+
     // Next Problem: There are often recursive methods used within collections structures for different reasons like search,
     //               map, reduce, filter and so on.
     //               Normally the recursive methods for Tree structures uses a recursive call for every child of a node
-    //               and this is not what we can resolve with a recursive tail call or a Trampoline. But there must be
-    //               other ways to gain performance and solving the stack problem for recursive methods within a Tree structure.
-    //               Maybe by flattening the collections structure using Java Streams...
+    //               and this is not what we can resolve with a recursive tail call or a simple Trampoline.
+    //               A Trampoline with flatMap solves this: the work that has to be done after a recursive call returns
+    //               is given as continuation to flatMap (or map) and the Trampoline keeps the continuations on the heap.
+
+    @Test
+    public void trampolineTreeRecursion() {
+        assertEquals( "55", String.valueOf( trampolineTreeFibonacci( 10 ).invoke() ) );
+        assertEquals( "6765", String.valueOf( trampolineTreeFibonacci( 20 ).invoke() ) );
+    }
+
+    private static Trampoline<Integer> trampolineTreeFibonacci( int number ) {
+        if ( number == 0 || number == 1 ) {
+            return Trampoline.done( number );
+        }
+        return Trampoline.call( () -> trampolineTreeFibonacci( number - 1 ) )
+            .flatMap( a -> Trampoline.call( () -> trampolineTreeFibonacci( number - 2 ) ).map( b -> a + b ) );
+    }
 
 
 }
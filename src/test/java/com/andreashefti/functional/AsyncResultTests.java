@@ -0,0 +1,88 @@
+package com.andreashefti.functional;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncResultTests {
+
+    @Test
+    public void mapAndFlatMap() {
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try {
+            AsyncResult<Integer> answer = AsyncResult.of( () -> Result.success( 20 ), executor )
+                .map( i -> i + 1 )
+                .flatMap( i -> AsyncResult.of( () -> Result.success( i * 2 ), executor ) );
+
+            assertEquals( Integer.valueOf( 42 ), answer.toResult().get() );
+            assertEquals( "42", answer.map( String::valueOf ).toResult( 1, TimeUnit.SECONDS ).get() );
+            assertFalse( answer.flatMap( i -> AsyncResult.<Integer>completed( Result.empty() ) ).toResult().isPresent() );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void failuresAndRecover() {
+        AsyncResult<Integer> failed = AsyncResult.<String>of( () -> Result.success( "x" ) ).map( Integer::valueOf );
+        assertTrue( failed.toResult().toString().contains( "NumberFormatException" ) );
+        assertEquals( Integer.valueOf( -1 ), failed.recover( e -> Result.success( -1 ) ).toResult().get() );
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        AsyncResult<String> fromFuture = AsyncResult.from( future, Runnable::run );
+        assertFalse( fromFuture.isDone() );
+        future.completeExceptionally( new IllegalArgumentException( "remote failed" ) );
+        assertTrue( fromFuture.toResult().toString().contains( "remote failed" ) );
+
+        AsyncResult<String> neverCompletes = AsyncResult.from( new CompletableFuture<>(), Runnable::run );
+        assertTrue( neverCompletes.toResult( 10, TimeUnit.MILLISECONDS ).toString().contains( "no Result within" ) );
+    }
+
+    @Test
+    public void futureAlwaysCompletesNormally() {
+        AsyncResult<Integer> nullResult = AsyncResult.of( () -> null );
+        assertFalse( nullResult.toResult().isPresent() );
+        assertFalse( nullResult.map( i -> i + 1 ).toResult().isPresent() );
+
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException( "executor is shut down" );
+        };
+        AsyncResult<Integer> answer = AsyncResult.completed( Result.success( 42 ), rejecting );
+        assertTrue( answer.map( i -> i + 1 ).toResult().toString().contains( "executor is shut down" ) );
+        assertTrue( answer.flatMap( i -> AsyncResult.completed( Result.success( i ) ) ).toResult().toString().contains( "executor is shut down" ) );
+        assertTrue( answer.recover( e -> Result.success( -1 ) ).toResult().toString().contains( "executor is shut down" ) );
+        assertFalse( answer.map( i -> i + 1 ).toCompletableFuture().isCompletedExceptionally() );
+    }
+
+    @Test
+    public void stepsDoNotBlock() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch( 1 );
+        AtomicReference<Result<Integer>> result = new AtomicReference<>();
+        CompletableFuture<Integer> call = new CompletableFuture<>();
+
+        // the steps are only registered, the calling thread is not blocked
+        AsyncResult.from( call, ForkJoinPool.commonPool() )
+            .map( i -> i * 2 )
+            .onComplete( r -> {
+                result.set( r );
+                done.countDown();
+            } );
+        assertEquals( 1, done.getCount() );
+
+        call.complete( 2 );
+        assertTrue( done.await( 1, TimeUnit.SECONDS ) );
+        assertEquals( Integer.valueOf( 4 ), result.get().get() );
+    }
+}
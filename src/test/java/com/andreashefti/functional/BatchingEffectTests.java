@@ -0,0 +1,179 @@
+package com.andreashefti.functional;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchingEffectTests {
+
+    @Test
+    public void flushBySizeAndOnClose() {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+        try ( BatchingEffect<Integer> effect = BatchingEffect.of( batches::add, 10, 1, TimeUnit.HOURS ) ) {
+            for ( int i = 0; i < 95; i++ ) {
+                effect.apply( i );
+            }
+        }
+
+        List<Integer> all = new ArrayList<>();
+        batches.forEach( all::addAll );
+        assertEquals( 95, all.size() );
+        assertEquals( Integer.valueOf( 94 ), all.get( 94 ) );
+        assertEquals( 10, batches.size() );
+        assertEquals( 5, batches.get( 9 ).size() );
+    }
+
+    @Test
+    public void flushByTime() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch( 1 );
+        BatchingEffect<String> effect = BatchingEffect.of( batch -> flushed.countDown(), 1000, 10, TimeUnit.MILLISECONDS );
+
+        effect.apply( "a" );
+        effect.apply( "b" );
+        assertTrue( flushed.await( 1, TimeUnit.SECONDS ) );
+        assertEquals( 1, effect.batchCount() );
+
+        effect.close();
+        assertTrue( effect.isClosed() );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void applyAfterClose() {
+        BatchingEffect<String> effect = BatchingEffect.of( batch -> {}, 10, 10, TimeUnit.MILLISECONDS );
+        effect.close();
+        effect.apply( "a" );
+    }
+
+    @Test
+    public void backPressureAndSinkFailures() {
+        AtomicInteger elements = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        Effect<List<Integer>> slowSink = batch -> {
+            try {
+                Thread.sleep( 1 );
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+            }
+            if ( batch.contains( 0 ) ) {
+                throw new IllegalStateException( "sink failed" );
+            }
+            elements.addAndGet( batch.size() );
+        };
+
+        // the buffer holds only 8 elements, so the producer has to wait for the slow sink
+        BatchingEffect<Integer> effect = BatchingEffect.of( slowSink, 4, 1, TimeUnit.SECONDS, 8, e -> errors.incrementAndGet() );
+        try {
+            for ( int i = 0; i < 400; i++ ) {
+                effect.apply( i );
+            }
+        } finally {
+            effect.close();
+        }
+
+        assertEquals( 1, effect.failureCount() );
+        assertEquals( 100, effect.batchCount() );
+        assertEquals( 396, elements.get() );
+        assertEquals( 1, errors.get() );
+    }
+
+    @Test( timeout = 10000 )
+    public void errorsOfTheSinkDoNotStopTheFlusher() {
+        List<RuntimeException> errors = new CopyOnWriteArrayList<>();
+        AtomicInteger elements = new AtomicInteger();
+        Effect<List<Integer>> sink = batch -> {
+            if ( batch.contains( 0 ) ) {
+                throw new AssertionError( "sink failed" );
+            }
+            elements.addAndGet( batch.size() );
+        };
+
+        BatchingEffect<Integer> effect = BatchingEffect.of( sink, 4, 1, TimeUnit.SECONDS, 4, errors::add );
+        for ( int i = 0; i < 100; i++ ) {
+            effect.apply( i );
+        }
+        effect.close();
+
+        assertEquals( 96, elements.get() );
+        assertEquals( 1, effect.failureCount() );
+        assertEquals( 1, errors.size() );
+        assertTrue( errors.get( 0 ).getCause() instanceof AssertionError );
+    }
+
+    @Test( timeout = 10000 )
+    public void failuresWithoutErrorHandlerAreThrownByClose() {
+        AtomicInteger elements = new AtomicInteger();
+        BatchingEffect<Integer> effect = BatchingEffect.of( batch -> {
+            if ( batch.contains( 0 ) || batch.contains( 4 ) ) {
+                throw new IllegalStateException( "disk full " + batch.get( 0 ) );
+            }
+            elements.addAndGet( batch.size() );
+        }, 4, 1, TimeUnit.SECONDS );
+        for ( int i = 0; i < 12; i++ ) {
+            effect.apply( i );
+        }
+
+        try {
+            effect.close();
+            fail( "close must throw the failure of the sink" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "disk full 0", e.getMessage() );
+        }
+        assertEquals( 4, elements.get() );
+        assertEquals( 2, effect.failureCount() );
+        // the failure is thrown only once
+        effect.close();
+    }
+
+    @Test( timeout = 10000 )
+    public void idleFlusherDoesNotWakeUp() throws InterruptedException {
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        BatchingEffect<Integer> effect = BatchingEffect.of( batch -> {}, 4, 10, TimeUnit.MILLISECONDS );
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+            .filter( t -> !before.contains( t ) && t.getName().startsWith( "batching-effect-" ) )
+            .findFirst()
+            .get();
+
+        effect.apply( 1 );
+        // waits without a timeout once the open batch is flushed
+        while ( effect.batchCount() == 0 || flusher.getState() != Thread.State.WAITING ) {
+            Thread.sleep( 1 );
+        }
+        Thread.sleep( 50 );
+        assertEquals( Thread.State.WAITING, flusher.getState() );
+
+        effect.close();
+        assertFalse( flusher.isAlive() );
+    }
+
+    @Test( timeout = 10000 )
+    public void closeFromTheSink() throws InterruptedException {
+        AtomicInteger elements = new AtomicInteger();
+        CountDownLatch closed = new CountDownLatch( 1 );
+        List<BatchingEffect<Integer>> self = new ArrayList<>();
+        BatchingEffect<Integer> effect = BatchingEffect.of( batch -> {
+            elements.addAndGet( batch.size() );
+            self.get( 0 ).close();
+            closed.countDown();
+        }, 2, 1, TimeUnit.SECONDS );
+        self.add( effect );
+
+        effect.apply( 1 );
+        effect.apply( 2 );
+        assertTrue( closed.await( 5, TimeUnit.SECONDS ) );
+        assertTrue( effect.isClosed() );
+        effect.close();
+        assertEquals( 2, elements.get() );
+    }
+}
@@ -0,0 +1,102 @@
+package com.andreashefti.functional;
+
+import com.andreashefti.functional.collections.FCollections;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EffectsTests {
+
+    @Test
+    public void applyConcurrentlyWithLimit() {
+        List<Integer> list = FCollections.range( 0, 200 );
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger sum = new AtomicInteger();
+
+        Effect<Integer> blocking = i -> {
+            maxRunning.accumulateAndGet( running.incrementAndGet(), Math::max );
+            sleep( 2 );
+            sum.addAndGet( i );
+            running.decrementAndGet();
+        };
+
+        Result<List<Integer>> ordered = Effects.applyConcurrently( list, blocking, 8, Effects.Completion.ORDERED );
+        assertEquals( list, ordered.get() );
+        assertEquals( 199 * 200 / 2, sum.get() );
+        assertTrue( maxRunning.get() <= 8 );
+        assertTrue( maxRunning.get() > 1 );
+
+        Result<List<Integer>> unordered = FCollections.applyEffectConcurrently( list, blocking, 16, Effects.Completion.UNORDERED );
+        assertEquals( new HashSet<>( list ), new HashSet<>( unordered.get() ) );
+    }
+
+    @Test
+    public void virtualThreadsIfTheJdkHasThem() {
+        Method isVirtual;
+        try {
+            isVirtual = Thread.class.getMethod( "isVirtual" );
+        } catch ( NoSuchMethodException e ) {
+            // before Java 21, run the tests with -Pjdk21 to test the virtual threads
+            assertFalse( Effects.usesVirtualThreads() );
+            return;
+        }
+
+        assertTrue( Effects.usesVirtualThreads() );
+        AtomicInteger virtual = new AtomicInteger();
+        Effects.applyConcurrently( FCollections.range( 0, 10 ), i -> {
+            try {
+                if ( (Boolean) isVirtual.invoke( Thread.currentThread() ) ) {
+                    virtual.incrementAndGet();
+                }
+            } catch ( ReflectiveOperationException e ) {
+                throw new IllegalStateException( e );
+            }
+        }, 4, Effects.Completion.UNORDERED ).get();
+        assertEquals( 10, virtual.get() );
+    }
+
+    @Test
+    public void errorsAreAggregated() {
+        List<Integer> list = FCollections.range( 0, 100 );
+        List<Integer> applied = new ArrayList<>();
+
+        Result<List<Integer>> result = Effects.applyConcurrently( list, i -> {
+            if ( i % 10 == 0 ) {
+                throw new IllegalArgumentException( "failed on " + i );
+            }
+            synchronized ( applied ) {
+                applied.add( i );
+            }
+        }, 4, Effects.Completion.ORDERED );
+
+        assertFalse( result.isPresent() );
+        assertEquals( 90, applied.size() );
+        try {
+            result.get();
+            fail();
+        } catch ( IllegalStateException e ) {
+            assertEquals( "10 of 100 effects failed", e.getMessage() );
+            assertEquals( 10, e.getSuppressed().length );
+            assertEquals( "failed on 0", e.getSuppressed()[ 0 ].getMessage() );
+            assertEquals( "failed on 90", e.getSuppressed()[ 9 ].getMessage() );
+        }
+    }
+
+    private static void sleep( long millis ) {
+        try {
+            Thread.sleep( millis );
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
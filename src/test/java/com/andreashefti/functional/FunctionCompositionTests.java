@@ -87,6 +87,26 @@ public class FunctionCompositionTests {
         assertEquals( "Hello 7", add43Hello );
     }
 
+    @Test
+    public void applyingUncurriedOps() {
+        Op2<Integer, Integer, Integer> add = Op2.of( ( x, y ) -> x + y );
+        assertEquals( Integer.valueOf( 7 ), add.apply( 4, 3 ) );
+        assertEquals( Integer.valueOf( 7 ), add.apply( 4 ).apply( 3 ) );
+
+        // a curried Op2 can also be applied with both arguments
+        Op2<Integer, Integer, Integer> curriedAdd = x -> y -> x + y;
+        assertEquals( Integer.valueOf( 7 ), curriedAdd.apply( 4, 3 ) );
+        assertEquals( Integer.valueOf( 7 ), Op2.<Integer, Integer, Integer>from( x -> y -> x + y ).apply( 4, 3 ) );
+
+        Op3<String, Integer, Integer, String> addToString = Op3.of( ( x, y, z ) -> x + ( y + z ) );
+        assertEquals( "Hello 7", addToString.apply( "Hello ", 4, 3 ) );
+        assertEquals( "Hello 7", addToString.apply( "Hello " ).apply( 4 ).apply( 3 ) );
+
+        Op4<Integer, Integer, Integer, Integer, Integer> addFour = Op4.of( ( a, b, c, d ) -> a + b + c + d );
+        assertEquals( Integer.valueOf( 10 ), addFour.apply( 1, 2, 3, 4 ) );
+        assertEquals( Integer.valueOf( 10 ), addFour.apply( 1 ).apply( 2 ).apply( 3 ).apply( 4 ) );
+    }
+
     @Test
     public void curryingWithComposeAndHigherComposeConstants() {
 
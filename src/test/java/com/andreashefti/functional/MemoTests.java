@@ -0,0 +1,133 @@
+package com.andreashefti.functional;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MemoTests {
+
+    @Test
+    public void memoizeFunction() {
+        AtomicInteger calls = new AtomicInteger();
+        MemoCache<Integer, Integer> cache = new MemoCache<>( 100 );
+        Function<Integer, Integer> square = Memo.memoize( x -> { calls.incrementAndGet(); return x * x; }, cache );
+
+        assertEquals( Integer.valueOf( 9 ), square.apply( 3 ) );
+        assertEquals( Integer.valueOf( 9 ), square.apply( 3 ) );
+        assertEquals( Integer.valueOf( 16 ), square.apply( 4 ) );
+
+        assertEquals( 2, calls.get() );
+        assertEquals( 1, cache.hitCount() );
+        assertEquals( 2, cache.missCount() );
+    }
+
+    @Test
+    public void memoizeLambdas() {
+        Function<Integer, Integer> twice = Memo.memoize( x -> x * 2 );
+        Ops.Op2<Integer, Integer, Integer> add = Memo.memoize2( x -> y -> x + y );
+        Ops.Op3<Integer, Integer, Integer, Integer> addThree = Memo.memoize3( x -> y -> z -> x + y + z );
+
+        assertEquals( Integer.valueOf( 6 ), twice.apply( 3 ) );
+        assertEquals( Integer.valueOf( 5 ), add.apply( 2 ).apply( 3 ) );
+        assertEquals( Integer.valueOf( 6 ), addThree.apply( 1 ).apply( 2 ).apply( 3 ) );
+    }
+
+    @Test
+    public void memoizeOps() {
+        AtomicInteger calls = new AtomicInteger();
+        Ops.Op2<Integer, Integer, Integer> add = x -> y -> { calls.incrementAndGet(); return x + y; };
+        Ops.Op2<Integer, Integer, Integer> memoizedAdd = Memo.memoize2( add );
+
+        Function<Integer, Integer> addTo5 = memoizedAdd.apply( 5 );
+        assertEquals( Integer.valueOf( 7 ), addTo5.apply( 2 ) );
+        assertEquals( Integer.valueOf( 7 ), memoizedAdd.apply( 5 ).apply( 2 ) );
+        assertEquals( Integer.valueOf( 7 ), memoizedAdd.apply( 2 ).apply( 5 ) );
+        assertEquals( 2, calls.get() );
+
+        Ops.Op3<Integer, Integer, Integer, Integer> addThree = x -> y -> z -> { calls.incrementAndGet(); return x + y + z; };
+        Ops.Op3<Integer, Integer, Integer, Integer> memoizedAddThree = Memo.memoize3( addThree );
+        assertEquals( Integer.valueOf( 6 ), memoizedAddThree.apply( 1 ).apply( 2 ).apply( 3 ) );
+        assertEquals( Integer.valueOf( 6 ), memoizedAddThree.apply( 1 ).apply( 2 ).apply( 3 ) );
+        assertEquals( 3, calls.get() );
+    }
+
+    @Test
+    public void evictionKeepsTheCacheBounded() {
+        MemoCache<Integer, Integer> cache = new MemoCache<>( 64, 4 );
+        Function<Integer, Integer> identity = Memo.memoize( x -> x, cache );
+
+        for ( int i = 0; i < 10000; i++ ) {
+            identity.apply( i );
+        }
+
+        assertTrue( cache.size() <= 64 );
+        assertEquals( 10000 - cache.size(), cache.evictionCount() );
+
+        // 10000 is not a multiple of the 64 segments
+        MemoCache<Integer, Integer> segmented = new MemoCache<>( 10000, 64 );
+        for ( int i = 0; i < 100000; i++ ) {
+            segmented.put( i, i );
+        }
+        assertEquals( 10000, segmented.size() );
+    }
+
+    @Test
+    public void concurrentAccess() throws InterruptedException {
+        MemoCache<Integer, Integer> cache = new MemoCache<>( 1000 );
+        Function<Integer, Integer> twice = Memo.memoize( x -> x * 2, cache );
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for ( int t = 0; t < 8; t++ ) {
+            threads.add( new Thread( () -> {
+                for ( int i = 0; i < 100000; i++ ) {
+                    int x = i % 500;
+                    if ( twice.apply( x ) != x * 2 ) {
+                        errors.incrementAndGet();
+                    }
+                }
+            } ) );
+        }
+        threads.forEach( Thread::start );
+        for ( Thread thread : threads ) {
+            thread.join();
+        }
+
+        assertEquals( 0, errors.get() );
+        assertEquals( 800000, cache.hitCount() + cache.missCount() );
+        assertTrue( cache.hitRate() > 0.99 );
+    }
+
+    @Test
+    public void memoizedRecursion() {
+        long modulo = 1000000007L;
+        AtomicInteger calls = new AtomicInteger();
+        MemoCache<Integer, Long> cache = new MemoCache<>( 200000 );
+        Function<Integer, Long> fibonacci = Memo.recursive( self -> n -> {
+            calls.incrementAndGet();
+            return n < 2 ?
+                       Trampoline.done( (long) n ) :
+                       self.apply( n - 1 ).flatMap( a -> self.apply( n - 2 ).map( b -> ( a + b ) % modulo ) );
+        }, cache );
+
+        long a = 0;
+        long b = 1;
+        for ( int i = 0; i < 100000; i++ ) {
+            long next = ( a + b ) % modulo;
+            a = b;
+            b = next;
+        }
+
+        assertEquals( Long.valueOf( a ), fibonacci.apply( 100000 ) );
+        // every value is computed only once
+        assertEquals( 100001, calls.get() );
+        assertEquals( Long.valueOf( a ), fibonacci.apply( 100000 ) );
+        assertEquals( 100001, calls.get() );
+    }
+}
@@ -0,0 +1,80 @@
+package com.andreashefti.functional;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class PipelineTests {
+
+    @Test
+    public void applyStagesInOrder() {
+        Pipeline<String, Integer> parse = Pipeline.of( String::trim ).then( Integer::valueOf );
+        Pipeline<String, String> roundTrip = parse.then( i -> i + 1 ).then( String::valueOf );
+
+        assertEquals( Integer.valueOf( 41 ), parse.apply( " 41 " ) );
+        assertEquals( "42", roundTrip.apply( " 41 " ) );
+        assertEquals( "x", Pipeline.<String>identity().apply( "x" ) );
+
+        Function<Integer, Integer> doubled = Pipeline.of( ( Integer i ) -> i + 1 ).compose( ( Integer i ) -> i * 2 );
+        assertEquals( Integer.valueOf( 7 ), doubled.apply( 3 ) );
+    }
+
+    @Test
+    public void nestedPipelinesAreFlattened() {
+        Pipeline<Integer, Integer> increment = Pipeline.of( i -> i + 1 );
+        Pipeline<Integer, Integer> incrementTwice = increment.then( increment );
+        Pipeline<Integer, Integer> incrementFourTimes = incrementTwice.andThen( incrementTwice );
+
+        assertEquals( 4, incrementFourTimes.size() );
+        assertEquals( Integer.valueOf( 4 ), incrementFourTimes.apply( 0 ) );
+
+        // both pipelines share the stages of incrementTwice
+        Pipeline<Integer, Integer> a = incrementTwice.then( i -> i * 2 );
+        Pipeline<Integer, Integer> b = incrementTwice.then( i -> i * 3 );
+        assertEquals( Integer.valueOf( 4 ), a.apply( 0 ) );
+        assertEquals( Integer.valueOf( 6 ), b.apply( 0 ) );
+
+        List<Function<Integer, Integer>> rules = new ArrayList<>( Collections.nCopies( 10, incrementFourTimes ) );
+        assertEquals( 40, Pipeline.chain( rules ).size() );
+    }
+
+    @Test
+    public void longCompositionChains() {
+        Function<Integer, Integer> increment = i -> i + 1;
+        Function<Integer, Integer> composed = increment;
+        for ( int i = 1; i < 100000; i++ ) {
+            composed = FunctionUtils.compose( increment, composed );
+        }
+
+        assertEquals( 100000, ( (Pipeline<Integer, Integer>) composed ).size() );
+        assertEquals( Integer.valueOf( 100000 ), composed.apply( 0 ) );
+
+        Function<Integer, Integer> higherComposed = increment;
+        for ( int i = 1; i < 10000; i++ ) {
+            higherComposed = FunctionUtils.<Integer, Integer, Integer>higherCompose().apply( increment ).apply( higherComposed );
+        }
+        assertEquals( Integer.valueOf( 10000 ), higherComposed.apply( 0 ) );
+    }
+
+    @Test
+    public void compiledPipelines() {
+        Pipeline<String, String> roundTrip = Pipeline.of( String::trim ).then( Integer::valueOf ).then( i -> i + 1 ).then( String::valueOf );
+        assertEquals( "42", roundTrip.compile().apply( " 41 " ) );
+        assertEquals( "x", Pipeline.<String>identity().compile().apply( "x" ) );
+
+        Function<Integer, Integer> increment = i -> i + 1;
+        Pipeline<Integer, Integer> longPipeline = Pipeline.chain( Collections.nCopies( 1000, increment ) );
+        assertEquals( Integer.valueOf( 1000 ), longPipeline.compile().apply( 0 ) );
+        assertEquals( Integer.valueOf( 3 ), FunctionUtils.compile( FunctionUtils.compose( increment, increment ) ).apply( 1 ) );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void compiledPipelinesPropagateExceptions() {
+        Pipeline.of( String::trim ).then( Integer::valueOf ).compile().apply( "x" );
+    }
+}
@@ -0,0 +1,108 @@
+package com.andreashefti.functional;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultTests {
+
+    private static final ResultPipeline<String, Integer> AGE = ResultPipeline.<String>start()
+        .map( String::trim )
+        .validate( s -> !s.isEmpty(), "age is missing" )
+        .map( Integer::valueOf )
+        .validate( age -> age >= 0, "age is negative" );
+
+    @Test
+    public void mapFlatMapAndFilter() {
+        Result<Integer> two = Result.success( 2 );
+
+        assertEquals( Integer.valueOf( 6 ), two.map( i -> i * 3 ).get() );
+        assertEquals( "2", two.flatMap( i -> Result.success( String.valueOf( i ) ) ).get() );
+        assertSame( two, two.filter( i -> i > 1 ) );
+        assertFalse( two.filter( i -> i > 2 ).isPresent() );
+        assertSame( two, two.mapFailure( IllegalArgumentException::new ) );
+
+        List<Integer> effects = new ArrayList<>();
+        two.forEach( effects::add );
+        Result.<Integer>empty().forEach( effects::add );
+        assertEquals( 1, effects.size() );
+    }
+
+    @Test
+    public void emptyAndFailureGiveBackThemselves() {
+        Result<Integer> empty = Result.empty();
+        Result<Integer> failure = Result.failure( "failed" );
+
+        assertSame( empty, empty.map( i -> i * 3 ) );
+        assertSame( empty, empty.flatMap( Result::success ) );
+        assertSame( failure, failure.map( i -> i * 3 ) );
+        assertSame( failure, failure.filter( i -> true ) );
+
+        Result<Integer> mapped = failure.mapFailure( e -> new IllegalArgumentException( "mapped", e ) );
+        try {
+            mapped.get();
+            fail();
+        } catch ( IllegalArgumentException e ) {
+            assertEquals( "mapped", e.getMessage() );
+        }
+
+        Result<Integer> thrown = Result.success( "x" ).map( Integer::valueOf );
+        assertFalse( thrown.isPresent() );
+        assertTrue( thrown.toString().contains( "NumberFormatException" ) );
+    }
+
+    @Test
+    public void resultPipeline() {
+        assertEquals( Integer.valueOf( 42 ), AGE.apply( " 42 " ).get() );
+        assertTrue( AGE.apply( "  " ).toString().contains( "age is missing" ) );
+        assertTrue( AGE.apply( "-1" ).toString().contains( "age is negative" ) );
+        assertTrue( AGE.apply( "x" ).toString().contains( "NumberFormatException" ) );
+
+        ResultPipeline<String, Integer> adult = AGE.filter( age -> age >= 18 ).flatMap( age -> age > 150 ? Result.empty() : Result.success( age ) );
+        assertEquals( Integer.valueOf( 42 ), adult.apply( Result.success( "42" ) ).get() );
+        assertFalse( adult.apply( "12" ).isPresent() );
+        assertFalse( adult.apply( "200" ).isPresent() );
+        assertFalse( adult.apply( Result.empty() ).isPresent() );
+    }
+
+    @Test
+    public void stacklessFailures() {
+        Result<Integer> failure = Result.stacklessFailure( "E42", "not valid" );
+
+        assertFalse( failure.isPresent() );
+        assertEquals( Integer.valueOf( 1 ), failure.getOrElse( 1 ) );
+        assertSame( failure, failure.map( i -> i * 2 ) );
+        try {
+            failure.get();
+            fail();
+        } catch ( Result.FailureException e ) {
+            assertEquals( "E42", e.getCode() );
+            assertEquals( "not valid", e.getMessage() );
+            assertEquals( 0, e.getStackTrace().length );
+        }
+    }
+
+    @Test
+    public void metrics() {
+        ResultMetrics.enable();
+        ResultMetrics.reset();
+        try {
+            for ( int i = 0; i < 100; i++ ) {
+                AGE.apply( i % 4 == 0 ? "-1" : String.valueOf( i ) );
+            }
+            assertEquals( 75, ResultMetrics.successCount() );
+            assertEquals( 25, ResultMetrics.stacklessFailureCount() );
+            assertEquals( 0.25, ResultMetrics.failureRate(), 0.0 );
+        } finally {
+            ResultMetrics.disable();
+            ResultMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.andreashefti.functional;
+
+import com.andreashefti.functional.collections.FList;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrampolineTests {
+
+    @Test
+    public void tailCalls() {
+        assertEquals( Integer.valueOf( 1000000 ), countDown( 1000000, 0 ).invoke() );
+    }
+
+    @Test
+    public void mapAndFlatMap() {
+        Trampoline<String> trampoline = Trampoline.done( 1 )
+            .map( i -> i + 1 )
+            .flatMap( i -> Trampoline.call( () -> Trampoline.done( i * 10 ) ) )
+            .map( String::valueOf );
+
+        assertEquals( "20", trampoline.invoke() );
+    }
+
+    @Test
+    public void stepByStepEvaluation() {
+        Trampoline<Integer> trampoline = Trampoline.done( 1 )
+            .flatMap( i -> Trampoline.done( i + 1 ) )
+            .flatMap( i -> Trampoline.done( i + 1 ) );
+
+        while ( !trampoline.isComplete() ) {
+            trampoline = trampoline.get();
+        }
+        assertEquals( Integer.valueOf( 3 ), trampoline.result() );
+    }
+
+    @Test
+    public void noneTailRecursion() {
+        FList<Integer> list = FList.empty();
+        for ( int i = 0; i < 100000; i++ ) {
+            list = list.prepend( 1 );
+        }
+        assertEquals( Integer.valueOf( 100000 ), sum( list ).invoke() );
+    }
+
+    @Test
+    public void treeRecursion() {
+        assertEquals( Integer.valueOf( 6765 ), fibonacci( 20 ).invoke() );
+        // the depth of the recursion is bigger then the stack allows without Trampoline
+        assertEquals( Integer.valueOf( 200000 ), depth( 200000 ).invoke() );
+    }
+
+    private static Trampoline<Integer> countDown( int n, int acc ) {
+        return n == 0 ?
+                   Trampoline.done( acc ) :
+                   Trampoline.call( () -> countDown( n - 1, acc + 1 ) );
+    }
+
+    private static Trampoline<Integer> sum( FList<Integer> list ) {
+        return list.isEmpty() ?
+                   Trampoline.done( 0 ) :
+                   Trampoline.call( () -> sum( list.tail() ) ).map( s -> list.head() + s );
+    }
+
+    private static Trampoline<Integer> fibonacci( int n ) {
+        return n < 2 ?
+                   Trampoline.done( n ) :
+                   Trampoline.call( () -> fibonacci( n - 1 ) )
+                       .flatMap( a -> Trampoline.call( () -> fibonacci( n - 2 ) ).map( b -> a + b ) );
+    }
+
+    private static Trampoline<Integer> depth( int n ) {
+        Function<Integer, Trampoline<Integer>> increment = d -> Trampoline.done( d + 1 );
+        return n == 0 ?
+                   Trampoline.done( 0 ) :
+                   Trampoline.call( () -> depth( n - 1 ) ).flatMap( increment );
+    }
+}
@@ -0,0 +1,72 @@
+package com.andreashefti.functional;
+
+import com.andreashefti.functional.collections.FCollections;
+import com.andreashefti.functional.collections.FList;
+import com.andreashefti.functional.collections.FStream;
+import com.andreashefti.functional.collections.FVector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransducerTests {
+
+    private static final Transducer<Integer, List<Integer>> XFORM = Transducer.<Integer, Integer>map( i -> i / 2 )
+        .then( Transducer.dedupe() )
+        .then( Transducer.filter( i -> i % 3 != 0 ) )
+        .then( Transducer.take( 5 ) )
+        .then( Transducer.partition( 2 ) );
+
+    @Test
+    public void sameTransducerForAllSources() {
+        // 0 0 1 1 2 2 3 3 4 4 5 5 6 6 7 7 -> 0 1 2 3 4 5 6 7 -> 1 2 4 5 7 -> [1, 2] [4, 5] [7]
+        String expected = "[[1, 2], [4, 5], [7]]";
+        List<Integer> range = FCollections.range( 0, 100 );
+
+        assertEquals( expected, FCollections.transduceToList( range, XFORM ).toString() );
+        assertEquals( expected, FCollections.transduceToList( FList.from( range ), XFORM ).toString() );
+        assertEquals( expected, FCollections.transduceToList( FVector.from( range ), XFORM ).toString() );
+        assertEquals( expected, FCollections.transduceToList( FStream.iterate( 0, i -> i + 1 ), XFORM ).toString() );
+
+        List<List<Integer>> fromIterator = FCollections.transduce( range.iterator(), XFORM, new ArrayList<>(), ( acc, l ) -> {
+            acc.add( l );
+            return acc;
+        } );
+        assertEquals( expected, fromIterator.toString() );
+
+        assertEquals( Integer.valueOf( 3 ), FCollections.transduce( range, XFORM, 0, count -> l -> count + 1 ) );
+    }
+
+    @Test
+    public void earlyTermination() {
+        AtomicInteger pulled = new AtomicInteger();
+        FStream<Integer> naturals = FStream.iterate( 0, i -> {
+            pulled.incrementAndGet();
+            return i + 1;
+        } );
+        Integer sum = FCollections.transduce( naturals, Transducer.take( 10 ), 0, s -> i -> s + i );
+        assertEquals( Integer.valueOf( 45 ), sum );
+        // the iterator of FStream evaluates the tail of the last taken element, but nothing more
+        assertTrue( pulled.get() <= 10 );
+
+        assertEquals( "[1, 2]", FCollections.transduceToList( Arrays.asList( 1, 2, 3, 1 ), Transducer.takeWhile( i -> i < 3 ) ).toString() );
+        assertEquals( "[]", FCollections.transduceToList( Arrays.asList( 1, 2 ), Transducer.take( 0 ) ).toString() );
+    }
+
+    @Test
+    public void pushSource() {
+        List<List<Integer>> batches = new ArrayList<>();
+        Reducer<Void, Integer> channel = XFORM.apply( Reducer.effect( batches::add ) );
+        for ( int i = 0; !channel.isReduced(); i++ ) {
+            channel.step( null, i );
+        }
+        assertEquals( "[[1, 2], [4, 5]]", batches.toString() );
+        channel.complete( null );
+        assertEquals( "[[1, 2], [4, 5], [7]]", batches.toString() );
+    }
+}
@@ -0,0 +1,81 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Monoid;
+import com.andreashefti.functional.Result;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FCollectionsTests {
+
+    private static final Function<Integer, Result<Integer>> POSITIVE = i -> i > 0 ?
+        Result.success( i * 2 ) :
+        Result.stacklessFailure( "not positive: " + i );
+
+    @Test
+    public void sequenceAndTraverse() {
+        assertEquals( Arrays.asList( 1, 2 ), FCollections.sequence( Arrays.asList( Result.success( 1 ), Result.success( 2 ) ) ).get() );
+        assertFalse( FCollections.sequence( Arrays.asList( Result.success( 1 ), Result.<Integer>empty() ) ).isPresent() );
+
+        assertEquals( Arrays.asList( 2, 4, 6 ), FCollections.traverse( Arrays.asList( 1, 2, 3 ), POSITIVE ).get() );
+
+        AtomicInteger calls = new AtomicInteger();
+        Result<List<Integer>> failure = FCollections.traverse( Arrays.asList( 1, -2, 3, -4 ), i -> {
+            calls.incrementAndGet();
+            return POSITIVE.apply( i );
+        } );
+        assertTrue( failure.toString().contains( "not positive: -2" ) );
+        assertEquals( 2, calls.get() );
+    }
+
+    @Test
+    public void traverseParallel() {
+        List<Integer> list = new ArrayList<>( FCollections.range( 1, 100001 ) );
+
+        Result<List<Integer>> result = FCollections.traverseParallel( list, POSITIVE, 100 );
+        assertEquals( FCollections.traverse( list, POSITIVE ).get(), result.get() );
+        assertEquals( list, FCollections.sequenceParallel( FCollections.map( list, Result::success ) ).get() );
+
+        // the leftmost failure wins and most of the work after it is skipped
+        list.set( 70000, -1 );
+        list.set( 30000, -2 );
+        list.set( 90000, -3 );
+        AtomicInteger calls = new AtomicInteger();
+        Result<List<Integer>> failure = FCollections.traverseParallel( list, i -> {
+            calls.incrementAndGet();
+            return POSITIVE.apply( i );
+        }, 100 );
+        assertTrue( failure.toString().contains( "not positive: -2" ) );
+        assertTrue( calls.get() < list.size() );
+    }
+
+    @Test
+    public void foldMapParallel() {
+        List<Integer> list = FCollections.range( 0, 1000000 );
+
+        long expected = FCollections.leftFold( list, 0L, s -> i -> s + i );
+        assertEquals( Long.valueOf( expected ), FCollections.foldMap( list, Monoid.longSum(), Integer::longValue ) );
+        assertEquals( Long.valueOf( expected ), FCollections.foldMapParallel( list, Monoid.longSum(), Integer::longValue ) );
+        assertEquals( Long.valueOf( 0 ), FCollections.foldMapParallel( new ArrayList<Integer>(), Monoid.longSum(), Integer::longValue ) );
+
+        // string concatenation is associative but not commutative so this also checks the order
+        List<Integer> small = FCollections.range( 0, 5000 );
+        assertEquals(
+            FCollections.foldMap( small, Monoid.string(), i -> String.valueOf( i % 10 ) ),
+            FCollections.foldMapParallel( small, Monoid.string(), i -> String.valueOf( i % 10 ), 16 )
+        );
+
+        Tree<Integer> tree = new Tree<>( 1 );
+        tree.root().addChild( 2 ).addChild( 3 );
+        tree.root().addChild( 4 );
+        assertEquals( "1234", tree.foldMapParallel( Monoid.string(), String::valueOf ) );
+    }
+}
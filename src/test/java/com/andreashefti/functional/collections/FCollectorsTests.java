@@ -0,0 +1,65 @@
+package com.andreashefti.functional.collections;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FCollectorsTests {
+
+    private static final List<Integer> RANGE = FCollections.range( 0, 100000 );
+
+    @Test
+    public void toList() {
+        assertEquals( RANGE, RANGE.stream().collect( FCollectors.toList() ) );
+        assertEquals( RANGE, RANGE.parallelStream().collect( FCollectors.toList() ) );
+        assertTrue( Stream.empty().collect( FCollectors.toList() ).isEmpty() );
+
+        List<Integer> list = Stream.of( 1, 2, 3 ).collect( FCollectors.toList() );
+        try {
+            list.add( 4 );
+            fail( "UnsupportedOperationException expected" );
+        } catch ( UnsupportedOperationException e ) {
+            assertEquals( "[1, 2, 3]", list.toString() );
+        }
+    }
+
+    @Test
+    public void toFList() {
+        assertEquals( FList.from( RANGE ), RANGE.stream().collect( FCollectors.toFList() ) );
+        assertEquals( FList.from( RANGE ), RANGE.parallelStream().collect( FCollectors.toFList() ) );
+        assertEquals( FList.empty(), Stream.empty().collect( FCollectors.toFList() ) );
+    }
+
+    @Test
+    public void toFVector() {
+        FVector<Integer> vector = RANGE.parallelStream().collect( FCollectors.toFVector() );
+        assertEquals( FVector.from( RANGE ), vector );
+        assertEquals( RANGE, vector.toList() );
+        assertEquals( Integer.valueOf( 99999 ), vector.append( 100000 ).get( 99999 ) );
+        assertEquals( Integer.valueOf( 100000 ), vector.append( 100000 ).get( 100000 ) );
+        assertEquals( FVector.empty(), Stream.empty().collect( FCollectors.toFVector() ) );
+
+        // sizes around the leaf and level boundaries of the trie
+        for ( int size : new int[] { 1, 31, 32, 33, 1024, 1025, 1056, 1057, 32 * 1024 + 33 } ) {
+            FVector<Integer> v = IntStream.range( 0, size ).boxed().collect( FCollectors.toFVector() );
+            assertEquals( size, v.size() );
+            assertEquals( Integer.valueOf( size - 1 ), v.get( size - 1 ) );
+            assertEquals( Integer.valueOf( size ), v.append( size ).get( size ) );
+            assertEquals( Integer.valueOf( -1 ), v.set( 0, -1 ).get( 0 ) );
+        }
+    }
+
+    @Test
+    public void toFMap() {
+        FMap<Integer, String> map = RANGE.parallelStream().collect( FCollectors.toFMap( i -> i % 1000, String::valueOf ) );
+        assertEquals( 1000, map.size() );
+        assertEquals( "99999", map.get( 999 ).get() );
+        assertEquals( "99000", map.get( 0 ).get() );
+    }
+}
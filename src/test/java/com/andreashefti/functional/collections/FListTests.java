@@ -0,0 +1,95 @@
+package com.andreashefti.functional.collections;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FListTests {
+
+    @Test
+    public void creatingLists() {
+        assertEquals( "[]", FList.empty().toString() );
+        assertEquals( "[1]", FList.of( 1 ).toString() );
+        assertEquals( "[1, 2, 3]", FList.of( 1, 2, 3 ).toString() );
+        assertEquals( "[1, 2, 3]", FList.from( FCollections.list( 1, 2, 3 ) ).toString() );
+        assertEquals( FList.of( 1, 2, 3 ), FList.from( FCollections.list( 1, 2, 3 ) ) );
+        assertEquals( 3, FList.of( 1, 2, 3 ).size() );
+        assertTrue( FList.empty().isEmpty() );
+    }
+
+    @Test
+    public void prependAndTailShareStructure() {
+        FList<Integer> list1 = FList.of( 2, 3 );
+        FList<Integer> list2 = list1.prepend( 1 );
+
+        assertEquals( "[1, 2, 3]", list2.toString() );
+        assertEquals( "[2, 3]", list1.toString() );
+        assertEquals( Integer.valueOf( 1 ), list2.head() );
+        assertSame( list1, list2.tail() );
+
+        try {
+            FList.empty().tail();
+            fail( "Exception expected here" );
+        } catch ( IllegalStateException e ) {}
+    }
+
+    @Test
+    public void foldOrder() {
+        FList<Integer> list = FList.of( 1, 2, 3, 4, 5 );
+
+        Function<String, Function<Integer, String>> fLeft = s -> i -> "(" + s + " + " + i + ")";
+        assertEquals( "(((((identity + 1) + 2) + 3) + 4) + 5)", list.foldLeft( "identity", fLeft ) );
+        Function<Integer, Function<String, String>> fRight = s -> i -> "(" + s + " + " + i + ")";
+        assertEquals( "(1 + (2 + (3 + (4 + (5 + identity)))))", list.foldRight( "identity", fRight ) );
+    }
+
+    @Test
+    public void fCollectionsOperations() {
+        FList<Integer> list = FList.of( 1, 2, 3, 4, 5 );
+
+        assertEquals( "[5, 4, 3, 2, 1]", FCollections.reverse( list ).toString() );
+        assertEquals( "[5, 4, 3, 2, 1]", FCollections.reversePrepend( list ).toString() );
+        assertEquals( "[1, 2, 3, 4, 5]", FCollections.mapFoldLeft( list, String::valueOf ).toString() );
+        assertEquals( "[1, 2, 3, 4, 5]", FCollections.mapFoldRight( list, String::valueOf ).toString() );
+        assertEquals( "[2, 4]", list.filter( i -> i % 2 == 0 ).toString() );
+        assertEquals( Integer.valueOf( 15 ), FCollections.leftFold( list, 0, x -> y -> x + y ) );
+    }
+
+    @Test
+    public void largeLists() {
+        List<Integer> range = FCollections.range( 0, 100000 );
+        assertEquals( 100000, range.size() );
+        assertEquals( Integer.valueOf( 99999 ), range.get( 99999 ) );
+
+        FList<Integer> list = FList.from( range );
+        assertEquals( Long.valueOf( 4999950000L ), FCollections.leftFold( list, 0L, x -> y -> x + y ) );
+        assertEquals( Long.valueOf( 4999950000L ), FCollections.leftFold( range, 0L, x -> y -> x + y ) );
+        assertEquals( 100000, FCollections.reversePrepend( list ).size() );
+        assertEquals( 100000, FCollections.mapFoldRight( list, String::valueOf ).size() );
+        assertEquals( Long.valueOf( 4999950000L ), FCollections.foldRightRecursiveStackSave_( list, 0L, x -> y -> x + y ).invoke() );
+    }
+
+    @Test
+    public void streams() {
+        FList<Integer> list = FList.from( FCollections.range( 0, 100000 ) );
+        assertEquals( 4999950000L, list.parallelStream().mapToLong( Integer::longValue ).sum() );
+        assertEquals( FCollections.range( 0, 100000 ), list.parallelStream().map( i -> i ).collect( Collectors.toList() ) );
+        assertEquals( "[1, 2, 3]", FList.of( 1, 2, 3 ).stream().collect( Collectors.toList() ).toString() );
+        assertEquals( 0, FList.empty().stream().count() );
+
+        Spliterator<Integer> spliterator = list.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals( 50000, prefix.estimateSize() );
+        assertEquals( 50000, spliterator.estimateSize() );
+        assertTrue( prefix.tryAdvance( i -> assertEquals( Integer.valueOf( 0 ), i ) ) );
+        assertTrue( spliterator.tryAdvance( i -> assertEquals( Integer.valueOf( 50000 ), i ) ) );
+    }
+}
@@ -0,0 +1,115 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Tuple;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FMapTests {
+
+    @Test
+    public void putGetAndRemoveKeepOlderVersions() {
+        FMap<String, Integer> map1 = FMap.<String, Integer>empty().put( "one", 1 ).put( "two", 2 );
+        FMap<String, Integer> map2 = map1.put( "three", 3 ).put( "one", 11 );
+        FMap<String, Integer> map3 = map2.remove( "two" );
+
+        assertEquals( 2, map1.size() );
+        assertEquals( Integer.valueOf( 1 ), map1.get( "one" ).get() );
+        assertFalse( map1.get( "three" ).isPresent() );
+
+        assertEquals( 3, map2.size() );
+        assertEquals( Integer.valueOf( 11 ), map2.get( "one" ).get() );
+        assertEquals( Integer.valueOf( 3 ), map2.getOrElse( "three", 0 ) );
+
+        assertEquals( 2, map3.size() );
+        assertFalse( map3.containsKey( "two" ) );
+        assertTrue( map2.containsKey( "two" ) );
+
+        assertSame( map3, map3.remove( "two" ) );
+        assertEquals( FMap.of( new Tuple<>( "one", 11 ), new Tuple<>( "three", 3 ) ), map3 );
+    }
+
+    @Test
+    public void hashCollisions() {
+        FMap<Collider, String> map = FMap.empty();
+        for ( int i = 0; i < 100; i++ ) {
+            map = map.put( new Collider( i ), String.valueOf( i ) );
+        }
+
+        assertEquals( 100, map.size() );
+        for ( int i = 0; i < 100; i++ ) {
+            assertEquals( String.valueOf( i ), map.get( new Collider( i ) ).get() );
+        }
+        for ( int i = 0; i < 100; i += 2 ) {
+            map = map.remove( new Collider( i ) );
+        }
+        assertEquals( 50, map.size() );
+        assertFalse( map.containsKey( new Collider( 10 ) ) );
+        assertEquals( "11", map.get( new Collider( 11 ) ).get() );
+    }
+
+    @Test
+    public void transientBulkLoad() {
+        int size = 100000;
+        FMap.Transient<Integer, Integer> t = FMap.<Integer, Integer>empty().asTransient();
+        for ( int i = 0; i < size; i++ ) {
+            t.put( i, i * 2 );
+        }
+        for ( int i = 0; i < size; i += 3 ) {
+            t.remove( i );
+        }
+        FMap<Integer, Integer> map = t.persistent();
+
+        int expectedSize = size - ( size + 2 ) / 3;
+        assertEquals( expectedSize, map.size() );
+        assertEquals( Integer.valueOf( expectedSize ), map.foldLeft( 0, x -> e -> x + 1 ) );
+        for ( int i = 0; i < size; i++ ) {
+            assertEquals( i % 3 != 0, map.containsKey( i ) );
+        }
+
+        // updates of the persistent map do not change the frozen one
+        FMap<Integer, Integer> map2 = map.put( 1, -1 ).remove( 2 );
+        assertEquals( Integer.valueOf( 2 ), map.get( 1 ).get() );
+        assertEquals( Integer.valueOf( 4 ), map.get( 2 ).get() );
+        assertEquals( Integer.valueOf( -1 ), map2.get( 1 ).get() );
+
+        try {
+            t.put( 1, 1 );
+            fail( "Exception expected here" );
+        } catch ( IllegalStateException e ) {}
+    }
+
+    @Test
+    public void transientDoesNotChangeSourceMap() {
+        FMap<Integer, Integer> map = FMap.<Integer, Integer>empty().put( 1, 1 ).put( 2, 2 );
+        FMap<Integer, Integer> map2 = map.asTransient().put( 3, 3 ).remove( 1 ).persistent();
+
+        assertEquals( "{1=1, 2=2}", map.toString() );
+        assertEquals( 2, map2.size() );
+        assertFalse( map2.containsKey( 1 ) );
+        assertEquals( 2, map.toMap().size() );
+    }
+
+    private static final class Collider {
+
+        private final int value;
+
+        Collider( int value ) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            return o instanceof Collider && ( (Collider) o ).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 3;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Result;
+import com.andreashefti.functional.Tuple;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FStreamTests {
+
+    @Test
+    public void infiniteStreams() {
+        FStream<Integer> naturals = FStream.iterate( 0, i -> i + 1 );
+
+        assertEquals( Arrays.asList( 0, 1, 2, 3, 4 ), naturals.take( 5 ).toList() );
+        assertEquals( Arrays.asList( 0, 4, 8 ), naturals.filter( i -> i % 2 == 0 ).map( i -> i * 2 ).take( 3 ).toList() );
+        assertEquals( Arrays.asList( 10, 11, 12 ), naturals.drop( 10 ).takeWhile( i -> i < 13 ).toList() );
+        assertEquals( Integer.valueOf( 45 ), naturals.take( 10 ).foldLeft( 0, s -> i -> s + i ) );
+    }
+
+    @Test
+    public void unfold() {
+        FStream<Long> fibonacci = FStream.unfold( new Tuple<>( 0L, 1L ),
+            s -> Result.success( new Tuple<>( s.left, new Tuple<>( s.right, s.left + s.right ) ) ) );
+
+        assertEquals( Arrays.asList( 0L, 1L, 1L, 2L, 3L, 5L, 8L ), fibonacci.take( 7 ).toList() );
+        assertEquals( FList.of( 3, 4, 5 ), FStream.range( 3, 6 ).toFList() );
+        assertTrue( FStream.range( 3, 3 ).isEmpty() );
+    }
+
+    @Test
+    public void stackSave() {
+        int size = 1000000;
+
+        assertEquals( Long.valueOf( (long) size * ( size - 1 ) / 2 ), FStream.range( 0, size ).foldLeft( 0L, s -> i -> s + i ) );
+        assertEquals( Integer.valueOf( size - 1 ), FStream.iterate( 0, i -> i + 1 ).drop( size - 1 ).head() );
+        assertEquals( Integer.valueOf( size ), FStream.iterate( 1, i -> i + 1 ).filter( i -> i % size == 0 ).head() );
+        assertEquals( size / 2, FStream.range( 0, size ).map( i -> i + 1 ).filter( i -> i % 2 == 0 ).toFList().size() );
+    }
+
+    @Test
+    public void memoization() {
+        AtomicInteger calls = new AtomicInteger();
+        FStream<Integer> stream = FStream.iterate( 0, i -> i + 1 ).map( i -> {
+            calls.incrementAndGet();
+            return i * i;
+        } );
+
+        assertEquals( Arrays.asList( 0, 1, 4, 9 ), stream.take( 4 ).toList() );
+        assertEquals( Arrays.asList( 0, 1, 4, 9 ), stream.take( 4 ).toList() );
+        assertEquals( 4, calls.get() );
+    }
+
+    @Test
+    public void constantMemory() {
+        int size = 100000;
+
+        // the head is collected while the fold is still running
+        AtomicReference<WeakReference<FStream<Long>>> foldHead = new AtomicReference<>();
+        AtomicBoolean foldHeadCollected = new AtomicBoolean();
+        Long sum = FStream.foldLeft( () -> {
+            FStream<Long> stream = FStream.iterate( 0L, i -> i + 1 ).take( size );
+            foldHead.set( new WeakReference<>( stream ) );
+            return stream;
+        }, 0L, s -> i -> {
+            if ( i == size - 1 ) {
+                foldHeadCollected.set( isCollected( foldHead.get() ) );
+            }
+            return s + i;
+        } );
+        assertEquals( Long.valueOf( (long) size * ( size - 1 ) / 2 ), sum );
+        assertTrue( foldHeadCollected.get() );
+
+        // the same for the iterator of a for-each loop
+        WeakReference<FStream<Long>> head = new WeakReference<>( FStream.iterate( 0L, i -> i + 1 ).take( size ) );
+        boolean headCollected = false;
+        for ( Long i : head.get() ) {
+            if ( i == size - 1 ) {
+                headCollected = isCollected( head );
+            }
+        }
+        assertTrue( headCollected );
+    }
+
+    private static boolean isCollected( WeakReference<?> reference ) {
+        for ( int i = 0; i < 10 && reference.get() != null; i++ ) {
+            System.gc();
+            try {
+                Thread.sleep( 10 );
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return reference.get() == null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.andreashefti.functional.collections;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FVectorTests {
+
+    @Test
+    public void creatingVectors() {
+        assertEquals( "[]", FVector.empty().toString() );
+        assertEquals( "[1, 2, 3]", FVector.of( 1, 2, 3 ).toString() );
+        assertEquals( FVector.of( 1, 2, 3 ), FVector.from( FCollections.list( 1, 2, 3 ) ) );
+        assertEquals( 3, FVector.of( 1, 2, 3 ).size() );
+    }
+
+    @Test
+    public void appendGetAndSetKeepOlderVersions() {
+        FVector<Integer> v1 = FVector.of( 1, 2, 3 );
+        FVector<Integer> v2 = v1.append( 4 );
+        FVector<Integer> v3 = v2.set( 0, 0 );
+
+        assertEquals( "[1, 2, 3]", v1.toString() );
+        assertEquals( "[1, 2, 3, 4]", v2.toString() );
+        assertEquals( "[0, 2, 3, 4]", v3.toString() );
+        assertEquals( "[0, 2, 3, 4, 5]", v3.set( 4, 5 ).toString() );
+
+        try {
+            v1.get( 3 );
+            fail( "Exception expected here" );
+        } catch ( IndexOutOfBoundsException e ) {}
+    }
+
+    @Test
+    public void largeVectors() {
+        // more then 32 * 32 * 32 elements to get a tree depth of three levels plus the tail
+        int size = 40000;
+        FVector<Integer> vector = FVector.empty();
+        for ( int i = 0; i < size; i++ ) {
+            vector = vector.append( i );
+        }
+
+        assertEquals( size, vector.size() );
+        for ( int i = 0; i < size; i++ ) {
+            assertEquals( Integer.valueOf( i ), vector.get( i ) );
+        }
+
+        FVector<Integer> changed = vector;
+        for ( int i = 0; i < size; i += 7 ) {
+            changed = changed.set( i, -i );
+        }
+        for ( int i = 0; i < size; i++ ) {
+            assertEquals( Integer.valueOf( i % 7 == 0 ? -i : i ), changed.get( i ) );
+            assertEquals( Integer.valueOf( i ), vector.get( i ) );
+        }
+
+        int index = 0;
+        for ( Integer value : vector ) {
+            assertEquals( Integer.valueOf( index++ ), value );
+        }
+        assertEquals( size, index );
+        assertEquals( Long.valueOf( 799980000L ), vector.foldLeft( 0L, x -> y -> x + y ) );
+    }
+
+    @Test
+    public void mapFoldLeftWithVector() {
+        List<Integer> range = FCollections.range( 0, 100000 );
+        List<String> result = FCollections.mapFoldLeft( range, String::valueOf );
+
+        assertEquals( 100000, result.size() );
+        assertEquals( "99999", result.get( 99999 ) );
+    }
+
+    @Test
+    public void streams() {
+        FVector<Integer> vector = FVector.from( FCollections.range( 0, 100000 ) );
+        assertEquals( 4999950000L, vector.parallelStream().mapToLong( Integer::longValue ).sum() );
+        assertEquals( FCollections.range( 0, 100000 ), vector.parallelStream().map( i -> i ).collect( Collectors.toList() ) );
+        assertEquals( 0, FVector.empty().stream().count() );
+
+        Spliterator<Integer> spliterator = vector.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals( 0, prefix.estimateSize() % 32 );
+        assertEquals( 100000, prefix.estimateSize() + spliterator.estimateSize() );
+        assertTrue( spliterator.tryAdvance( i -> assertEquals( Integer.valueOf( (int) prefix.estimateSize() ), i ) ) );
+        assertNull( FVector.of( 1, 2, 3 ).spliterator().trySplit() );
+    }
+}
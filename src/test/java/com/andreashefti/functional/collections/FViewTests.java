@@ -0,0 +1,54 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Monoid;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class FViewTests {
+
+    @Test
+    public void stagesRunInOnePass() {
+        List<String> trace = new ArrayList<>();
+        FView<Integer> view = FCollections.view( Arrays.asList( 1, 2, 3, 4 ) )
+            .map( i -> { trace.add( "map " + i ); return i * 10; } )
+            .filter( i -> { trace.add( "filter " + i ); return i != 20; } );
+
+        assertEquals( 0, trace.size() );
+        assertEquals( Arrays.asList( 10, 30, 40 ), view.toList() );
+        assertEquals( "[map 1, filter 10, map 2, filter 20, map 3, filter 30, map 4, filter 40]", trace.toString() );
+    }
+
+    @Test
+    public void terminalOperations() {
+        List<Integer> range = FCollections.range( 0, 100000 );
+        FView<Integer> view = FCollections.view( range )
+            .map( i -> i + 1 )
+            .filter( i -> i % 2 == 0 )
+            .flatMap( i -> Arrays.asList( i, -i ) )
+            .map( i -> i * 3 );
+
+        List<Integer> expected = new ArrayList<>();
+        for ( Integer i : range ) {
+            if ( ( i + 1 ) % 2 == 0 ) {
+                expected.add( ( i + 1 ) * 3 );
+                expected.add( -( i + 1 ) * 3 );
+            }
+        }
+
+        assertEquals( expected, view.toList() );
+        assertEquals( 100000, view.count() );
+        assertEquals( Long.valueOf( 0 ), view.foldLeft( 0L, sum -> i -> sum + i ) );
+        assertEquals( Long.valueOf( 0 ), view.foldMap( Monoid.longSum(), Integer::longValue ) );
+        assertEquals( FVector.from( expected ), view.toFVector() );
+        assertEquals( FList.from( expected ), view.toFList() );
+        assertEquals( FList.empty(), view.filter( i -> false ).toFList() );
+
+        // a FList source is iterated, not indexed
+        assertEquals( "[2, 4]", FView.of( FList.of( 1, 2, 3 ) ).map( i -> i * 2 ).filter( i -> i < 5 ).toList().toString() );
+    }
+}
@@ -0,0 +1,46 @@
+package com.andreashefti.functional.collections;
+
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveListTests {
+
+    @Test
+    public void intList() {
+        IntList list = IntList.range( 0, 10 );
+
+        assertEquals( 10, list.size() );
+        assertEquals( 45, list.sum() );
+        assertEquals( IntList.of( 0, 4, 16, 36, 64 ), list.filter( x -> x % 2 == 0 ).map( x -> x * x ) );
+        assertEquals( IntList.of( 2, 1, 0 ), IntList.range( 0, 3 ).reverse() );
+        assertEquals( "[1, 2, 3]", IntList.of( 1, 2, 3 ).toString() );
+        assertEquals( IntList.of( 1, 2, 3 ).hashCode(), IntList.range( 1, 4 ).hashCode() );
+        assertTrue( IntList.range( 3, 3 ).isEmpty() );
+        assertEquals( IntList.of( Integer.MIN_VALUE ), IntList.range( Integer.MIN_VALUE, Integer.MIN_VALUE + 1 ) );
+
+        PrimitiveIterator.OfInt it = IntList.of( 7, 8 ).iterator();
+        assertEquals( 7, it.nextInt() );
+        assertEquals( 8, it.nextInt() );
+        assertTrue( !it.hasNext() );
+    }
+
+    @Test
+    public void longAndDoubleList() {
+        int size = 1000000;
+        LongList longs = LongList.range( 0L, size );
+
+        assertEquals( (long) size * ( size - 1 ) / 2, longs.sum() );
+        assertEquals( size, longs.map( x -> x * 2 ).filter( x -> x % 4 == 0 ).size() * 2 );
+        assertEquals( 123L, LongList.of( 1L, 2L, 3L ).foldLeft( 0L, ( acc, x ) -> acc * 10 + x ) );
+
+        DoubleList doubles = DoubleList.of( 0.5, 1.5, 2.5 );
+        assertEquals( 4.5, doubles.sum(), 0.0 );
+        assertArrayEquals( new double[] { 1.0, 3.0, 5.0 }, doubles.map( x -> x * 2 ).toArray(), 0.0 );
+        assertEquals( DoubleList.of( 2.5 ), doubles.filter( x -> x > 2 ) );
+    }
+}
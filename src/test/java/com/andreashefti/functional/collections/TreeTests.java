@@ -0,0 +1,134 @@
+package com.andreashefti.functional.collections;
+
+import com.andreashefti.functional.Result;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TreeTests {
+
+    /*       1
+     *     / | \
+     *    2  3  4
+     *   / \     \
+     *  5   6     7
+     */
+    private static Tree<Integer> smallTree() {
+        Tree<Integer> tree = new Tree<>( 1 );
+        Tree.Node<Integer> two = tree.root().addChild( 2 );
+        tree.root().addChild( 3 );
+        Tree.Node<Integer> four = tree.root().addChild( 4 );
+        two.addChild( 5 );
+        two.addChild( 6 );
+        four.addChild( 7 );
+        return tree;
+    }
+
+    /* A tree with a deep path and some wide nodes along the path */
+    private static Tree<Integer> bigTree( int depth ) {
+        int value = 0;
+        Tree<Integer> tree = new Tree<>( value++ );
+        Tree.Node<Integer> node = tree.root();
+        for ( int i = 0; i < depth; i++ ) {
+            for ( int j = 0; j < 10; j++ ) {
+                node.addChild( value++ );
+            }
+            node = node.addChild( value++ );
+        }
+        return tree;
+    }
+
+    @Test
+    public void foldAndIterators() {
+        Tree<Integer> tree = smallTree();
+
+        assertEquals( "1234567".length(), tree.size() );
+        assertEquals( "1256347", tree.fold( "", s -> i -> s + i ) );
+        assertEquals( "1256347", asString( tree.depthFirstIterator() ) );
+        assertEquals( "1234567", asString( tree.breadthFirstIterator() ) );
+    }
+
+    @Test
+    public void mapAndFilter() {
+        Tree<Integer> tree = smallTree();
+
+        Tree<String> mapped = tree.map( i -> "v" + i );
+        assertEquals( "v1v2v5v6v3v4v7", mapped.fold( "", s -> v -> s + v ) );
+        assertEquals( 3, mapped.root().children().size() );
+
+        Result<Tree<Integer>> filtered = tree.filter( i -> i != 2 );
+        assertEquals( "1347", filtered.get().fold( "", s -> i -> s + i ) );
+        assertFalse( tree.filter( i -> i != 1 ).isPresent() );
+    }
+
+    @Test
+    public void deepTrees() {
+        Tree<Integer> tree = bigTree( 50000 );
+        int size = 50000 * 11 + 1;
+
+        assertEquals( size, tree.size() );
+        assertEquals( Long.valueOf( (long) size * ( size - 1 ) / 2 ), tree.fold( 0L, s -> i -> s + i ) );
+        assertEquals( size, tree.map( i -> i * 2 ).size() );
+        assertEquals( 50001, tree.filter( i -> i % 11 == 0 ).get().size() );
+    }
+
+    @Test
+    public void parallelMapAndReduce() {
+        Tree<Integer> tree = bigTree( 20000 );
+
+        Tree<Integer> mapped = tree.parallelMap( i -> i * 2, 100 );
+        assertEquals( tree.map( i -> i * 2 ).fold( new ArrayList<Integer>(), TreeTests::add ), mapped.fold( new ArrayList<Integer>(), TreeTests::add ) );
+
+        // string concatenation is associative but not commutative so this also checks the order
+        Tree<Integer> smallerTree = bigTree( 2000 );
+        String sequential = smallerTree.fold( "", s -> i -> s + ( i % 10 ) );
+        String parallel = smallerTree.parallelReduce( "", i -> String.valueOf( i % 10 ), a -> b -> a + b, 50 );
+        assertEquals( sequential, parallel );
+
+        assertEquals( tree.fold( 0L, s -> i -> s + i ), tree.parallelReduce( 0L, Integer::longValue, a -> b -> a + b ) );
+    }
+
+    private static Function<Integer, List<Integer>> add( List<Integer> list ) {
+        return i -> {
+            list.add( i );
+            return list;
+        };
+    }
+
+    private static String asString( Iterator<Integer> it ) {
+        StringBuilder sb = new StringBuilder();
+        while ( it.hasNext() ) {
+            sb.append( it.next() );
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void streams() {
+        Tree<Integer> tree = smallTree();
+        assertEquals( "[1, 2, 5, 6, 3, 4, 7]", tree.stream().collect( Collectors.toList() ).toString() );
+        assertEquals( "[1, 2, 5, 6, 3, 4, 7]", tree.parallelStream().collect( Collectors.toList() ).toString() );
+
+        // splits at subtree boundaries keep the pre-order
+        Spliterator<Integer> spliterator = tree.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        List<Integer> values = new ArrayList<>();
+        prefix.forEachRemaining( values::add );
+        assertEquals( "[1, 2, 5, 6]", values.toString() );
+        spliterator.forEachRemaining( values::add );
+        assertEquals( "[1, 2, 5, 6, 3, 4, 7]", values.toString() );
+
+        Tree<Integer> big = bigTree( 10000 );
+        List<Integer> sequential = big.stream().collect( Collectors.toList() );
+        assertEquals( sequential, big.parallelStream().collect( Collectors.toList() ) );
+        assertEquals( (long) big.size(), big.parallelStream().count() );
+    }
+}